@@ -0,0 +1,83 @@
+package com.cinereservas.api.benchmarks;
+
+import com.cinereservas.api.dto.BookingDTO;
+import com.cinereservas.api.mapper.BookingMapper;
+import com.cinereservas.api.model.*;
+import com.cinereservas.api.repository.BillboardRepository;
+import com.cinereservas.api.repository.BookingRepository;
+import com.cinereservas.api.repository.CustomerRepository;
+import com.cinereservas.api.repository.SeatRepository;
+import com.cinereservas.api.service.SeatHoldService;
+import com.cinereservas.api.service.SeatStateService;
+import com.cinereservas.api.service.impl.BookingMetrics;
+import com.cinereservas.api.service.impl.BookingServiceImpl;
+import com.cinereservas.api.service.impl.TransactionRetryExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Mide el costo propio de BookingServiceImpl.save (validaciones, armado de la entidad, evento y mapeo)
+// sin base de datos: los repositorios devuelven entidades fijas y la transacción no hace nada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class BookingSaveBenchmark {
+
+    private BookingServiceImpl bookingService;
+    private BookingDTO request;
+
+    @Setup
+    public void setup() {
+        MovieEntity movie = Fixtures.movie();
+        RoomEntity room = Fixtures.room();
+        SeatEntity seat = Fixtures.seat(room);
+        BillboardEntity billboard = Fixtures.billboard(movie, room);
+        CustomerEntity customer = Fixtures.customer();
+        AtomicInteger ids = new AtomicInteger(100);
+
+        BookingRepository bookingRepository = Stubs.of(BookingRepository.class, Map.of(
+                "save", args -> {
+                    BookingEntity booking = (BookingEntity) args[0];
+                    booking.setId(ids.incrementAndGet());
+                    return booking;
+                }));
+        CustomerRepository customerRepository = Stubs.of(CustomerRepository.class, Map.of(
+                "findById", args -> Optional.of(customer)));
+        SeatRepository seatRepository = Stubs.of(SeatRepository.class, Map.of(
+                "findById", args -> Optional.of(seat)));
+        BillboardRepository billboardRepository = Stubs.of(BillboardRepository.class, Map.of(
+                "findByIdAndStatus", args -> Optional.of(billboard)));
+        SeatStateService seatStateService = Stubs.of(SeatStateService.class, Map.of(
+                "claim", args -> null));
+        SeatHoldService seatHoldService = Stubs.of(SeatHoldService.class, Map.of());
+        PlatformTransactionManager transactionManager = Stubs.of(PlatformTransactionManager.class, Map.of(
+                "getTransaction", args -> new SimpleTransactionStatus(),
+                "commit", args -> null,
+                "rollback", args -> null));
+
+        bookingService = new BookingServiceImpl(bookingRepository, customerRepository, seatRepository,
+                billboardRepository, seatStateService, seatHoldService,
+                new TransactionRetryExecutor(transactionManager, 3, 20), new BookingMetrics(new SimpleMeterRegistry()),
+                new BookingMapper(), event -> {
+                });
+
+        request = new BookingDTO();
+        request.setCustomerId(customer.getId());
+        request.setSeatId(seat.getId());
+        request.setBillboardId(billboard.getId());
+    }
+
+    @Benchmark
+    public BookingDTO save() {
+        return bookingService.save(request);
+    }
+}
@@ -0,0 +1,82 @@
+package com.cinereservas.api.benchmarks;
+
+import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Mide el camino de error bajo una ráfaga de 409 en varios hilos: la excepción de negocio se lanza al fondo
+// de una pila del tamaño de una petición de Spring MVC y el handler la convierte en la respuesta.
+// legacyConflict reproduce el camino anterior (traza de pila completa y un HashMap por respuesta) como
+// referencia. Para ver la memoria asignada por operación:
+// mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ErrorPathBenchmark -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@Threads(4)
+public class ErrorPathBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+    @Param({"120"})
+    public int stackDepth;
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> seatConflict() {
+        try {
+            throwAt(stackDepth, () -> CineReservasException.SEAT_ALREADY_BOOKED);
+            return null;
+        } catch (CineReservasException ex) {
+            return handler.handleCineReservasException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> conflict() {
+        try {
+            throwAt(stackDepth, () -> CineReservasException.conflict("Billboard was cancelled concurrently: 42"));
+            return null;
+        } catch (CineReservasException ex) {
+            return handler.handleCineReservasException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> legacyConflict() {
+        try {
+            throwAt(stackDepth, () -> new LegacyException("Seat already booked for this billboard"));
+            return null;
+        } catch (LegacyException ex) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("message", ex.getMessage());
+            errorResponse.put("status", HttpStatus.CONFLICT.name());
+            return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+    }
+
+    private static void throwAt(int depth, Supplier<? extends RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    // La excepción de negocio tal como era antes, con la traza de pila completa
+    private static final class LegacyException extends RuntimeException {
+
+        LegacyException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.cinereservas.api.benchmarks;
+
+import com.cinereservas.api.model.*;
+import com.cinereservas.api.model.enums.MovieGenreEnum;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Entidades de ejemplo compartidas por los benchmarks
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static MovieEntity movie() {
+        MovieEntity movie = new MovieEntity();
+        movie.setId(1);
+        movie.setName("Aventuras Cósmicas");
+        movie.setGenre(MovieGenreEnum.SCIENCE_FICTION);
+        movie.setAllowedAge((short) 12);
+        movie.setLengthMinutes((short) 120);
+        return movie;
+    }
+
+    static RoomEntity room() {
+        RoomEntity room = new RoomEntity();
+        room.setId(1);
+        room.setName("Sala Normal");
+        room.setNumber((short) 1);
+        return room;
+    }
+
+    static SeatEntity seat(RoomEntity room) {
+        SeatEntity seat = new SeatEntity();
+        seat.setId(15);
+        seat.setNumber((short) 5);
+        seat.setRowNumber((short) 2);
+        seat.setRoom(room);
+        return seat;
+    }
+
+    static BillboardEntity billboard(MovieEntity movie, RoomEntity room) {
+        BillboardEntity billboard = new BillboardEntity();
+        billboard.setId(3);
+        billboard.setDate(LocalDate.of(2026, 10, 17));
+        billboard.setStartTime(LocalTime.of(14, 30));
+        billboard.setEndTime(LocalTime.of(16, 30));
+        billboard.setMovie(movie);
+        billboard.setRoom(room);
+        return billboard;
+    }
+
+    static CustomerEntity customer() {
+        CustomerEntity customer = new CustomerEntity();
+        customer.setId(7);
+        customer.setDocumentNumber("1712345678");
+        customer.setName("María");
+        customer.setLastname("González");
+        customer.setAge((short) 30);
+        customer.setEmail("maria@example.com");
+        return customer;
+    }
+}
@@ -0,0 +1,107 @@
+package com.cinereservas.api.benchmarks;
+
+import com.cinereservas.api.dto.*;
+import com.cinereservas.api.mapper.*;
+import com.cinereservas.api.model.*;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Compara los mappers escritos a mano con la configuración de ModelMapper que usaban los servicios, y mide
+// el mapToDto de cada servicio (todos delegan en su mapper)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class MapperBenchmark {
+
+    private final MovieMapper movieMapper = new MovieMapper();
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final RoomMapper roomMapper = new RoomMapper();
+    private final SeatMapper seatMapper = new SeatMapper();
+    private final CustomerMapper customerMapper = new CustomerMapper();
+    private final BillboardMapper billboardMapper = new BillboardMapper();
+    private ModelMapper modelMapper;
+
+    private MovieEntity movie;
+    private RoomEntity room;
+    private SeatEntity seat;
+    private CustomerEntity customer;
+    private BillboardEntity billboard;
+    private BookingEntity booking;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true);
+
+        movie = Fixtures.movie();
+        room = Fixtures.room();
+        seat = Fixtures.seat(room);
+        billboard = Fixtures.billboard(movie, room);
+        customer = Fixtures.customer();
+
+        booking = new BookingEntity();
+        booking.setId(42);
+        booking.setDate(LocalDate.of(2026, 10, 16));
+        booking.setCustomer(customer);
+        booking.setSeat(seat);
+        booking.setBillboard(billboard);
+    }
+
+    @Benchmark
+    public MovieDTO movieHandWritten() {
+        return movieMapper.toDto(movie);
+    }
+
+    @Benchmark
+    public MovieDTO movieModelMapper() {
+        return modelMapper.map(movie, MovieDTO.class);
+    }
+
+    @Benchmark
+    public RoomDTO roomHandWritten() {
+        return roomMapper.toDto(room);
+    }
+
+    @Benchmark
+    public SeatDTO seatHandWritten() {
+        return seatMapper.toDto(seat);
+    }
+
+    @Benchmark
+    public CustomerDTO customerHandWritten() {
+        return customerMapper.toDto(customer);
+    }
+
+    @Benchmark
+    public BillboardDTO billboardHandWritten() {
+        return billboardMapper.toDto(billboard);
+    }
+
+    @Benchmark
+    public BookingDTO bookingHandWritten() {
+        return bookingMapper.toDto(booking);
+    }
+
+    // Mismo recorrido que hacía BookingServiceImpl.mapToDto sobre el resultado de ModelMapper
+    @Benchmark
+    public BookingDTO bookingModelMapper() {
+        BookingDTO dto = modelMapper.map(booking, BookingDTO.class);
+        dto.setCustomerId(booking.getCustomer().getId());
+        dto.setCustomerName(booking.getCustomer().getName() + " " + booking.getCustomer().getLastname());
+        dto.setSeatId(booking.getSeat().getId());
+        dto.setSeatLabel("Row " + booking.getSeat().getRowNumber() + ", Seat " + booking.getSeat().getNumber());
+        dto.setBillboardId(booking.getBillboard().getId());
+        dto.setMovieName(booking.getBillboard().getMovie().getName());
+        dto.setRoomName(booking.getBillboard().getRoom().getName());
+        return dto;
+    }
+}
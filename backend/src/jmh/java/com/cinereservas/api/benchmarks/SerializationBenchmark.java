@@ -0,0 +1,67 @@
+package com.cinereservas.api.benchmarks;
+
+import com.cinereservas.api.dto.BillboardDTO;
+import com.cinereservas.api.dto.BookingDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializa listados de carteleras y reservas con el mismo ObjectMapper que configura WebConfig
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class SerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<BillboardDTO> billboards;
+    private List<BookingDTO> bookings;
+
+    @Setup
+    public void setup() {
+        LocalDate today = LocalDate.of(2026, 10, 17);
+        billboards = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+
+        for (int i = 1; i <= size; i++) {
+            BillboardDTO billboard = new BillboardDTO();
+            billboard.setId(i);
+            billboard.setStatus(true);
+            billboard.setDate(today.plusDays(i % 7));
+            billboard.setStartTime(LocalTime.of(14 + i % 4 * 2, 30));
+            billboard.setEndTime(LocalTime.of(16 + i % 4 * 2, 0));
+            billboard.setMovieId(i % 6 + 1);
+            billboard.setMovieName("Aventuras Cósmicas");
+            billboard.setRoomId(i % 3 + 1);
+            billboard.setRoomName("Sala Normal");
+            billboards.add(billboard);
+
+            bookings.add(new BookingDTO(i, true, today, i % 3 + 1, "María", "González",
+                    i % 60 + 1, (short) (i % 6 + 1), (short) (i % 10 + 1), i % 84 + 1,
+                    "Aventuras Cósmicas", "Sala Normal"));
+        }
+    }
+
+    @Benchmark
+    public byte[] billboards() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(billboards);
+    }
+
+    @Benchmark
+    public byte[] bookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+}
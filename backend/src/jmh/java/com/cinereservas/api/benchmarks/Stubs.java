@@ -0,0 +1,33 @@
+package com.cinereservas.api.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+// Implementaciones mínimas de interfaces (repositorios, servicios) para aislar el código medido de la
+// base de datos. Solo responden los métodos indicados; cualquier otro falla para detectar cambios de ruta.
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                case "toString":
+                    return "Stub<" + type.getSimpleName() + ">";
+                default:
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,61 @@
+package com.cinereservas.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+// Identificador de correlación de cada petición: se toma de la cabecera X-Correlation-Id si es válido o se
+// genera uno nuevo, se devuelve en la respuesta y queda en el MDC para todas las líneas de log de la petición.
+// También se guarda como atributo de la petición para que los despachos asíncronos usen el mismo
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+    public static final String ATTRIBUTE = CorrelationIdFilter.class.getName() + ".ID";
+
+    // Evita que un valor arbitrario del cliente inyecte texto en los logs
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // En un despacho asíncrono se reutiliza el id de la petición original: la respuesta puede estar ya
+        // confirmada y un id nuevo no coincidiría con la cabecera enviada ni con los logs anteriores
+        String correlationId = (String) request.getAttribute(ATTRIBUTE);
+        if (correlationId == null) {
+            correlationId = request.getHeader(HEADER);
+            if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+                correlationId = UUID.randomUUID().toString();
+            }
+            request.setAttribute(ATTRIBUTE, correlationId);
+        }
+
+        MDC.put(MDC_KEY, correlationId);
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, correlationId);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    // Los despachos asíncronos (respuestas en streaming) vuelven a pasar por el filtro con el mismo id
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.cinereservas.api.config;
+
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+@Configuration
+public class LoggingConfig {
+
+    // Copia el MDC (id de correlación) del hilo que envía la tarea al que la ejecuta. Spring Boot lo aplica
+    // al applicationTaskExecutor, que atiende las respuestas asíncronas y los envíos de SSE
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                } else {
+                    MDC.clear();
+                }
+                try {
+                    task.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+}
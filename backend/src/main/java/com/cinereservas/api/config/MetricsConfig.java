@@ -0,0 +1,26 @@
+package com.cinereservas.api.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+
+@Configuration
+public class MetricsConfig {
+
+    // Aspecto de @Timed etiquetado con la clase del servicio y no con la que declara el método, para que
+    // los métodos heredados de BaseServiceImpl se distingan por servicio
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        Function<ProceedingJoinPoint, Iterable<Tag>> tags = joinPoint -> Tags.of(
+                "class", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName(),
+                "method", joinPoint.getSignature().getName());
+        return new TimedAspect(meterRegistry, tags);
+    }
+}
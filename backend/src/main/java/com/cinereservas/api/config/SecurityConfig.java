@@ -16,6 +16,8 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())  // Versión moderna de csrf().disable()
                 .authorizeHttpRequests(authz -> authz  // Versión moderna de authorizeRequests()
                         .requestMatchers("/api/public/**").permitAll()
+                        // Sondas de salud y métricas para Prometheus
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         // Añade aquí tus otras reglas de autorización
                         .anyRequest().authenticated()
                 );
@@ -0,0 +1,94 @@
+package com.cinereservas.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+@Configuration
+public class SqlAccountingConfig {
+
+    // Envuelve el DataSource para contar sentencias y tiempo JDBC de cada petición (SqlRequestStats), y también
+    // filas si cinereservas.sql.count-rows está activo. El post-procesador se crea antes que los beans de
+    // propiedades, así que la opción se lee directamente del entorno
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor(Environment environment) {
+        boolean countRows = Binder.get(environment).bind("cinereservas.sql.count-rows", Boolean.class).orElse(false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementListener());
+                    if (countRows) {
+                        builder.proxyResultSet().methodListener(new RowListener());
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Registra las sentencias de las peticiones muestreadas sin sus parámetros
+    @Slf4j(topic = "com.cinereservas.api.sql")
+    private static class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.statementStarted();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats == null) {
+                return;
+            }
+            stats.statementFinished();
+            if (stats.isSampled() && log.isInfoEnabled()) {
+                for (QueryInfo queryInfo : queryInfoList) {
+                    log.info("sql statement elapsedMs={} batchSize={} success={} query=\"{}\"", execInfo.getElapsedTime(),
+                            execInfo.getBatchSize(), execInfo.isSuccess(), queryInfo.getQuery());
+                }
+            }
+        }
+    }
+
+    // Cada next() que avanza a una fila cuenta como fila leída
+    private static class RowListener implements MethodExecutionListener {
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            if (executionContext.getTarget() instanceof ResultSet
+                    && "next".equals(executionContext.getMethod().getName())
+                    && Boolean.TRUE.equals(executionContext.getResult())) {
+                SqlRequestStats stats = SqlRequestStats.current();
+                if (stats != null) {
+                    stats.rowFetched();
+                }
+            }
+        }
+    }
+}
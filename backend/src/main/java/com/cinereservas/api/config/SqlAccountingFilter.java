@@ -0,0 +1,136 @@
+package com.cinereservas.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Contabiliza el SQL de cada petición: lo publica en la cabecera Server-Timing, lo registra en una línea
+// clave=valor y lo compara con el presupuesto configurado para el endpoint
+@Slf4j
+@Component
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final boolean failOnBudgetExceeded;
+    private final double logSampleRate;
+    private final boolean countRows;
+    private final Map<String, SqlAccountingProperties.Budget> budgets;
+
+    public SqlAccountingFilter(SqlAccountingProperties properties) {
+        this.failOnBudgetExceeded = properties.isFailOnBudgetExceeded();
+        this.logSampleRate = properties.getLogSampleRate();
+        this.countRows = properties.isCountRows();
+        this.budgets = properties.getBudgets().stream()
+                .collect(Collectors.toMap(SqlAccountingProperties.Budget::getEndpoint, Function.identity()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start(ThreadLocalRandom.current().nextDouble() < logSampleRate);
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, stats, countRows);
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            SqlRequestStats.clear();
+        }
+
+        // Las respuestas asíncronas y en streaming siguen en otro hilo: no hay totales completos que informar
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        timedResponse.addServerTiming();
+        report(request, response.getStatus(), stats);
+    }
+
+    private void report(HttpServletRequest request, int status, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        String jdbcMillis = String.format(Locale.ROOT, "%.2f", stats.getJdbcMillis());
+
+        SqlAccountingProperties.Budget budget = budgets.get(endpoint);
+        if (budget == null || withinBudget(stats, budget)) {
+            log.debug("sql endpoint=\"{}\" status={} statements={} rows={} jdbcMs={}",
+                    endpoint, status, stats.getStatements(), rows(stats), jdbcMillis);
+            return;
+        }
+
+        log.warn("sql budget exceeded endpoint=\"{}\" status={} statements={} rows={} jdbcMs={} maxStatements={} maxJdbcMs={}",
+                endpoint, status, stats.getStatements(), rows(stats), jdbcMillis,
+                budget.getMaxStatements(), budget.getMaxJdbcMillis());
+        if (failOnBudgetExceeded) {
+            throw new IllegalStateException("SQL budget exceeded for " + endpoint + ": " + stats.getStatements()
+                    + " statements (max " + budget.getMaxStatements() + "), " + jdbcMillis + " ms in JDBC");
+        }
+    }
+
+    // Sin el recuento de filas activo no se informa un cero engañoso
+    private Object rows(SqlRequestStats stats) {
+        return countRows ? stats.getRows() : "-";
+    }
+
+    private static boolean withinBudget(SqlRequestStats stats, SqlAccountingProperties.Budget budget) {
+        return stats.getStatements() <= budget.getMaxStatements()
+                && (budget.getMaxJdbcMillis() <= 0 || stats.getJdbcMillis() <= budget.getMaxJdbcMillis());
+    }
+
+    // Añade Server-Timing justo antes de escribir el cuerpo, cuando las cabeceras todavía se pueden cambiar
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private final boolean countRows;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, SqlRequestStats stats, boolean countRows) {
+            super(response);
+            this.stats = stats;
+            this.countRows = countRows;
+        }
+
+        void addServerTiming() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            String description = countRows
+                    ? String.format(Locale.ROOT, "%d statements, %d rows", stats.getStatements(), stats.getRows())
+                    : stats.getStatements() + " statements";
+            addHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%s\"",
+                    stats.getJdbcMillis(), description));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.cinereservas.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Presupuestos de SQL por endpoint ("GET /api/billboards/date/{date}"): máximo de sentencias y,
+// opcionalmente, de milisegundos en JDBC por petición
+@Data
+@Component
+@ConfigurationProperties(prefix = "cinereservas.sql")
+public class SqlAccountingProperties {
+
+    // Si se supera un presupuesto la petición falla en lugar de solo registrar un aviso (para las pruebas)
+    private boolean failOnBudgetExceeded = false;
+
+    // Fracción de peticiones (0 a 1) cuyas sentencias SQL se registran en el logger com.cinereservas.api.sql
+    private double logSampleRate = 0;
+
+    // Cuenta las filas leídas de cada ResultSet. Exige envolver cada ResultSet e interceptar cada next(),
+    // por eso solo se activa en dev y en las pruebas que lo necesitan; lo lee SqlAccountingConfig al crear el proxy
+    private boolean countRows = false;
+
+    private List<Budget> budgets = new ArrayList<>();
+
+    @Data
+    public static class Budget {
+
+        private String endpoint;
+        private int maxStatements = Integer.MAX_VALUE;
+        private double maxJdbcMillis = 0;
+    }
+}
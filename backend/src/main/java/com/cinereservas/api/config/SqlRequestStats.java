@@ -0,0 +1,62 @@
+package com.cinereservas.api.config;
+
+// Totales de SQL de la petición HTTP en curso: sentencias, filas leídas y tiempo en JDBC. Se asocian al
+// hilo de la petición; las consultas de otros hilos (tareas programadas, respuestas asíncronas) no cuentan.
+// En las peticiones muestreadas se registra además el texto de cada sentencia.
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final boolean sampled;
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private long statementStart;
+
+    private SqlRequestStats(boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    public static SqlRequestStats start(boolean sampled) {
+        SqlRequestStats stats = new SqlRequestStats(sampled);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void statementStarted() {
+        statementStart = System.nanoTime();
+    }
+
+    public void statementFinished() {
+        statements++;
+        jdbcNanos += System.nanoTime() - statementStart;
+    }
+
+    public void rowFetched() {
+        rows++;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cinereservas.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+
+// Registra el tiempo de arranque en cada inicio junto con si se usaron los artefactos AOT y un archivo CDS,
+// que son las dos palancas del perfil de arranque rápido. Para seguirlo entre versiones como métrica,
+// Actuator ya publica application.ready.time y application.started.time
+@Slf4j
+@Component
+public class StartupTimeReporter {
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        boolean cds = runtime.getInputArguments().stream()
+                .anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile"));
+
+        log.info("Startup: application ready in {} ms, JVM uptime {} ms (aot={}, cds={})",
+                event.getTimeTaken().toMillis(), runtime.getUptime(), AotDetector.useGeneratedArtifacts(), cds);
+    }
+}
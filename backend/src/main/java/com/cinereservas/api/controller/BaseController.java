@@ -1,30 +1,81 @@
 package com.cinereservas.api.controller;
 
 import com.cinereservas.api.dto.BaseDTO;
+import com.cinereservas.api.dto.CursorPageDTO;
 import com.cinereservas.api.model.BaseEntity;
 import com.cinereservas.api.service.BaseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 public abstract class BaseController<E extends BaseEntity, D extends BaseDTO> {
 
     protected final BaseService<E, D> service;
+    private final ObjectWriter ndjsonWriter;
 
-    protected BaseController(BaseService<E, D> service) {
+    protected BaseController(BaseService<E, D> service, ObjectMapper objectMapper) {
         this.service = service;
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<D> findById(@PathVariable Integer id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<D> findById(@PathVariable Integer id, WebRequest request) {
+        String eTag = currentETag();
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(service.findById(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<D>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<List<D>> findAll(WebRequest request) {
+        String eTag = currentETag();
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(service.findAll());
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<D>> findPage(@RequestParam int limit,
+                                                     @RequestParam(required = false) Integer after) {
+        return ResponseEntity.ok(service.findPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = ndjsonWriter.writeValues(outputStream)) {
+                service.streamAll(dto -> {
+                    try {
+                        writer.write(dto);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // ETag de la versión actual del recurso; null si el controlador no admite peticiones condicionales
+    protected String currentETag() {
+        return null;
     }
 
     @PostMapping
@@ -1,12 +1,23 @@
 package com.cinereservas.api.controller;
 
 import com.cinereservas.api.dto.BillboardDTO;
+import com.cinereservas.api.dto.BillboardSeatDTO;
+import com.cinereservas.api.dto.SeatHoldDTO;
 import com.cinereservas.api.model.BillboardEntity;
 import com.cinereservas.api.model.enums.MovieGenreEnum;
 import com.cinereservas.api.service.BillboardService;
+import com.cinereservas.api.service.BillboardSnapshotService;
+import com.cinereservas.api.service.ResourceVersionService;
+import com.cinereservas.api.service.SeatChangeStreamService;
+import com.cinereservas.api.service.SeatHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,23 +29,50 @@ import java.util.Map;
 public class BillboardController extends BaseController<BillboardEntity, BillboardDTO> {
 
     private final BillboardService billboardService;
+    private final SeatHoldService seatHoldService;
+    private final BillboardSnapshotService billboardSnapshotService;
+    private final ResourceVersionService resourceVersionService;
+    private final SeatChangeStreamService seatChangeStreamService;
 
-    public BillboardController(BillboardService billboardService) {
-        super(billboardService);
+    public BillboardController(BillboardService billboardService, SeatHoldService seatHoldService,
+                               BillboardSnapshotService billboardSnapshotService,
+                               ResourceVersionService resourceVersionService,
+                               SeatChangeStreamService seatChangeStreamService, ObjectMapper objectMapper) {
+        super(billboardService, objectMapper);
         this.billboardService = billboardService;
+        this.seatHoldService = seatHoldService;
+        this.billboardSnapshotService = billboardSnapshotService;
+        this.resourceVersionService = resourceVersionService;
+        this.seatChangeStreamService = seatChangeStreamService;
     }
 
+    // Las consultas por fecha se sirven desde la instantánea ya serializada
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<BillboardDTO>> findByDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(billboardService.findByDate(date));
+    public ResponseEntity<byte[]> findByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date, WebRequest request) {
+        String eTag = currentETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(billboardSnapshotService.findByDate(date));
     }
 
     @GetMapping("/dateRange")
-    public ResponseEntity<List<BillboardDTO>> findByDateRange(
+    public ResponseEntity<byte[]> findByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(billboardService.findByDateRange(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+        String eTag = currentETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(billboardSnapshotService.findByDateRange(startDate, endDate));
     }
 
     @GetMapping("/room/{roomId}/date/{date}")
@@ -66,9 +104,39 @@ public class BillboardController extends BaseController<BillboardEntity, Billboa
         return ResponseEntity.ok(billboardService.getSeatsAvailabilityByRoom(date));
     }
 
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<List<BillboardSeatDTO>> getSeatMap(@PathVariable Integer id, WebRequest request) {
+        String eTag = resourceVersionService.getSeatMapETag(id);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(billboardService.getSeatMap(id));
+    }
+
+    @GetMapping(value = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatChanges(@PathVariable Integer id) {
+        return seatChangeStreamService.subscribe(id);
+    }
+
+    @PostMapping("/{id}/holds")
+    public ResponseEntity<SeatHoldDTO> createHold(@PathVariable Integer id, @RequestBody SeatHoldDTO dto) {
+        return new ResponseEntity<>(seatHoldService.hold(id, dto), HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{id}/holds/{token}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Integer id, @PathVariable String token) {
+        seatHoldService.release(id, token);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/{id}/cancel")
     public ResponseEntity<Void> cancelBillboard(@PathVariable Integer id) {
         billboardService.cancelBillboard(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @Override
+    protected String currentETag() {
+        return resourceVersionService.getETag(ResourceVersionService.Resource.BILLBOARDS);
+    }
+}
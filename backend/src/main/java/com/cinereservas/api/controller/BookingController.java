@@ -1,9 +1,12 @@
 package com.cinereservas.api.controller;
 
+import com.cinereservas.api.dto.BookingBatchDTO;
 import com.cinereservas.api.dto.BookingDTO;
 import com.cinereservas.api.model.BookingEntity;
 import com.cinereservas.api.service.BookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,8 +20,8 @@ public class BookingController extends BaseController<BookingEntity, BookingDTO>
 
     private final BookingService bookingService;
 
-    public BookingController(BookingService bookingService) {
-        super(bookingService);
+    public BookingController(BookingService bookingService, ObjectMapper objectMapper) {
+        super(bookingService, objectMapper);
         this.bookingService = bookingService;
     }
 
@@ -39,6 +42,11 @@ public class BookingController extends BaseController<BookingEntity, BookingDTO>
         return ResponseEntity.ok(bookingService.findByDateRange(startDate, endDate));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookingDTO>> createBatch(@RequestBody BookingBatchDTO dto) {
+        return new ResponseEntity<>(bookingService.saveBatch(dto), HttpStatus.CREATED);
+    }
+
     @PutMapping("/{id}/cancel")
     public ResponseEntity<Void> cancelBooking(@PathVariable Integer id) {
         bookingService.cancelBooking(id);
@@ -4,6 +4,7 @@ import com.cinereservas.api.dto.CustomerDTO;
 import com.cinereservas.api.exception.CineReservasException;
 import com.cinereservas.api.model.CustomerEntity;
 import com.cinereservas.api.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,8 +15,8 @@ public class CustomerController extends BaseController<CustomerEntity, CustomerD
 
     private final CustomerService customerService;
 
-    public CustomerController(CustomerService customerService) {
-        super(customerService);
+    public CustomerController(CustomerService customerService, ObjectMapper objectMapper) {
+        super(customerService, objectMapper);
         this.customerService = customerService;
     }
 
@@ -0,0 +1,25 @@
+package com.cinereservas.api.controller;
+
+import com.cinereservas.api.dto.EventPageDTO;
+import com.cinereservas.api.service.OutboxService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class EventController {
+
+    private final OutboxService outboxService;
+
+    public EventController(OutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    // Feed de cambios de reservas y carteleras; los consumidores guardan nextAfter y piden desde ahí
+    @GetMapping
+    public ResponseEntity<EventPageDTO> findAfter(@RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(outboxService.findAfter(after, limit));
+    }
+}
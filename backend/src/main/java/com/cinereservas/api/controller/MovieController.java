@@ -4,8 +4,11 @@ import com.cinereservas.api.dto.MovieDTO;
 import com.cinereservas.api.model.MovieEntity;
 import com.cinereservas.api.model.enums.MovieGenreEnum;
 import com.cinereservas.api.service.MovieService;
+import com.cinereservas.api.service.ResourceVersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,14 +18,26 @@ import java.util.List;
 public class MovieController extends BaseController<MovieEntity, MovieDTO> {
 
     private final MovieService movieService;
+    private final ResourceVersionService resourceVersionService;
 
-    public MovieController(MovieService movieService) {
-        super(movieService);
+    public MovieController(MovieService movieService, ResourceVersionService resourceVersionService,
+                           ObjectMapper objectMapper) {
+        super(movieService, objectMapper);
         this.movieService = movieService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<List<MovieDTO>> findByGenre(@PathVariable MovieGenreEnum genre) {
-        return ResponseEntity.ok(movieService.findByGenre(genre));
+    public ResponseEntity<List<MovieDTO>> findByGenre(@PathVariable MovieGenreEnum genre, WebRequest request) {
+        String eTag = currentETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(movieService.findByGenre(genre));
+    }
+
+    @Override
+    protected String currentETag() {
+        return resourceVersionService.getETag(ResourceVersionService.Resource.MOVIES);
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.cinereservas.api.controller;
 import com.cinereservas.api.dto.RoomDTO;
 import com.cinereservas.api.model.RoomEntity;
 import com.cinereservas.api.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,8 +14,8 @@ public class RoomController extends BaseController<RoomEntity, RoomDTO> {
 
     private final RoomService roomService;
 
-    public RoomController(RoomService roomService) {
-        super(roomService);
+    public RoomController(RoomService roomService, ObjectMapper objectMapper) {
+        super(roomService, objectMapper);
         this.roomService = roomService;
     }
 
@@ -2,9 +2,12 @@ package com.cinereservas.api.controller;
 
 import com.cinereservas.api.dto.SeatDTO;
 import com.cinereservas.api.model.SeatEntity;
+import com.cinereservas.api.service.ResourceVersionService;
 import com.cinereservas.api.service.SeatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,15 +17,22 @@ import java.util.List;
 public class SeatController extends BaseController<SeatEntity, SeatDTO> {
 
     private final SeatService seatService;
+    private final ResourceVersionService resourceVersionService;
 
-    public SeatController(SeatService seatService) {
-        super(seatService);
+    public SeatController(SeatService seatService, ResourceVersionService resourceVersionService,
+                          ObjectMapper objectMapper) {
+        super(seatService, objectMapper);
         this.seatService = seatService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping("/room/{roomId}")
-    public ResponseEntity<List<SeatDTO>> findByRoomId(@PathVariable Integer roomId) {
-        return ResponseEntity.ok(seatService.findByRoomId(roomId));
+    public ResponseEntity<List<SeatDTO>> findByRoomId(@PathVariable Integer roomId, WebRequest request) {
+        String eTag = currentETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(seatService.findByRoomId(roomId));
     }
 
     @GetMapping("/room/{roomId}/position")
@@ -44,4 +54,9 @@ public class SeatController extends BaseController<SeatEntity, SeatDTO> {
         seatService.enableSeat(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Override
+    protected String currentETag() {
+        return resourceVersionService.getETag(ResourceVersionService.Resource.SEATS);
+    }
 }
\ No newline at end of file
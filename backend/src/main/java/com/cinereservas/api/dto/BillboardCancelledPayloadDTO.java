@@ -0,0 +1,22 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Contenido publicado en el feed de eventos al cancelar una cartelera: solo identificadores, sin datos de
+// contacto de los clientes afectados
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillboardCancelledPayloadDTO {
+
+    private Integer billboardId;
+    private Integer roomId;
+    private LocalDate date;
+    private Integer cancelledBookings;
+    private List<Integer> customerIds;
+}
@@ -0,0 +1,17 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BillboardSeatDTO {
+
+    private Integer billboardId;
+    private Integer seatId;
+    private Short number;
+    private Short rowNumber;
+    private Boolean available;
+}
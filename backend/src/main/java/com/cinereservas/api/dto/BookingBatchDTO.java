@@ -0,0 +1,18 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchDTO {
+
+    private Integer customerId;
+    private Integer billboardId;
+    private List<Integer> seatIds;
+    private String holdToken;
+}
@@ -1,5 +1,6 @@
 package com.cinereservas.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -21,4 +22,31 @@ public class BookingDTO extends BaseDTO {
     private Integer billboardId;
     private String movieName;
     private String roomName;
+
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String holdToken;
+
+    // Constructor usado por las proyecciones JPQL de BookingRepository
+    public BookingDTO(Integer id, Boolean status, LocalDate date,
+                      Integer customerId, String customerFirstName, String customerLastname,
+                      Integer seatId, Short seatRowNumber, Short seatNumber,
+                      Integer billboardId, String movieName, String roomName) {
+        super(id, status);
+        this.date = date;
+        this.customerId = customerId;
+        this.customerName = customerName(customerFirstName, customerLastname);
+        this.seatId = seatId;
+        this.seatLabel = seatLabel(seatRowNumber, seatNumber);
+        this.billboardId = billboardId;
+        this.movieName = movieName;
+        this.roomName = roomName;
+    }
+
+    public static String customerName(String name, String lastname) {
+        return name + " " + lastname;
+    }
+
+    public static String seatLabel(Short rowNumber, Short number) {
+        return "Row " + rowNumber + ", Seat " + number;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CancellationNotificationDTO {
+
+    private Integer billboardId;
+    private LocalDate billboardDate;
+    private Integer customerId;
+    private String customerName;
+    private String contact;
+}
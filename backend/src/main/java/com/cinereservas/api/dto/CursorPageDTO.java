@@ -0,0 +1,16 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<D> {
+
+    private List<D> items;
+    private Integer nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerContactDTO {
+
+    private Integer customerId;
+    private String name;
+    private String lastname;
+    private String email;
+    private String phoneNumber;
+}
@@ -0,0 +1,19 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPageDTO {
+
+    private List<OutboxEventDTO> events;
+
+    // Posición desde la que pedir la siguiente página; se mantiene aunque no haya eventos nuevos
+    private Long nextAfter;
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.cinereservas.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventDTO {
+
+    private Long position;
+    private String eventType;
+    private String aggregateType;
+    private Integer aggregateId;
+    private LocalDateTime createdAt;
+
+    // El payload ya está serializado como JSON en el outbox
+    @JsonRawValue
+    private String payload;
+}
@@ -0,0 +1,15 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatChangeDTO {
+
+    private Integer billboardId;
+    private Integer seatId;
+    private Boolean available;
+}
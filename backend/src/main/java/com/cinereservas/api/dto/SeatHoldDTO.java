@@ -0,0 +1,19 @@
+package com.cinereservas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldDTO {
+
+    private String token;
+    private Integer billboardId;
+    private List<Integer> seatIds;
+    private LocalDateTime expiresAt;
+}
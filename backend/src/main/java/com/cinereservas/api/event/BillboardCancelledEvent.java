@@ -0,0 +1,17 @@
+package com.cinereservas.api.event;
+
+import com.cinereservas.api.dto.CustomerContactDTO;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Value
+public class BillboardCancelledEvent {
+
+    Integer billboardId;
+    Integer roomId;
+    LocalDate date;
+    int cancelledBookings;
+    List<CustomerContactDTO> affectedCustomers;
+}
@@ -0,0 +1,16 @@
+package com.cinereservas.api.event;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class BookingCancelledEvent {
+
+    Integer bookingId;
+    Integer customerId;
+    Integer seatId;
+    Integer billboardId;
+    Integer roomId;
+    LocalDate billboardDate;
+}
@@ -0,0 +1,11 @@
+package com.cinereservas.api.event;
+
+import com.cinereservas.api.model.BaseEntity;
+import lombok.Value;
+
+@Value
+public class EntityChangedEvent {
+
+    Class<? extends BaseEntity> entityType;
+    Integer entityId;
+}
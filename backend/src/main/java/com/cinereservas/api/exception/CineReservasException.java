@@ -3,13 +3,20 @@ package com.cinereservas.api.exception;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+// Errores de negocio esperados (butaca ocupada, recurso inexistente, petición inválida). Se crean sin traza
+// de pila ni excepciones suprimidas: no aportan nada para diagnosticarlos y rellenar la traza es lo que más
+// cuesta cuando llegan en ráfagas, como los 409 de una función muy demandada.
 @Getter
 public class CineReservasException extends RuntimeException {
 
+    // Instancia compartida para el conflicto más frecuente; sin traza ni supresiones no guarda estado mutable
+    public static final CineReservasException SEAT_ALREADY_BOOKED =
+            conflict("Seat already booked for this billboard");
+
     private final HttpStatus httpStatus;
 
     public CineReservasException(String message, HttpStatus httpStatus) {
-        super(message);
+        super(message, null, false, false);
         this.httpStatus = httpStatus;
     }
 
@@ -28,4 +35,4 @@ public class CineReservasException extends RuntimeException {
     public static CineReservasException forbidden(String message) {
         return new CineReservasException(message, HttpStatus.FORBIDDEN);
     }
-}
\ No newline at end of file
+}
@@ -1,29 +1,56 @@
 package com.cinereservas.api.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.net.URI;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+// Responde con ProblemDetail (RFC 7807) y conserva la propiedad "message" de las respuestas anteriores.
+// Cada respuesta lleva su propio ProblemDetail: Spring completa "instance" con la ruta de la petición, así
+// que un cuerpo compartido entre peticiones se modificaría desde varios hilos. Solo se comparten los "type".
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(CineReservasException.class)
-    public ResponseEntity<Map<String, String>> handleCineReservasException(CineReservasException ex) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("message", ex.getMessage());
-        errorResponse.put("status", ex.getHttpStatus().name());
+    private static final URI SEAT_ALREADY_BOOKED = problemType("seat-already-booked");
+    private static final URI CONCURRENT_MODIFICATION = problemType("concurrent-modification");
+    private static final URI DATA_INTEGRITY_VIOLATION = problemType("data-integrity-violation");
+    private static final URI INVALID_REFERENCE = problemType("invalid-reference");
+    private static final URI INTERNAL_ERROR = problemType("internal-error");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, Counter> errorCounters = new ConcurrentHashMap<>();
 
-        return new ResponseEntity<>(errorResponse, ex.getHttpStatus());
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ExceptionHandler(CineReservasException.class)
+    public ResponseEntity<ProblemDetail> handleCineReservasException(CineReservasException ex) {
+        if (ex == CineReservasException.SEAT_ALREADY_BOOKED) {
+            return respond(problem(ex.getHttpStatus(), SEAT_ALREADY_BOOKED, ex.getMessage()));
+        }
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(ex.getHttpStatus(), ex.getMessage());
+        problem.setProperty("message", ex.getMessage());
+        return respond(problem);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, Object> errors = new HashMap<>();
+    public ResponseEntity<ProblemDetail> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> validationErrors = new HashMap<>();
 
         ex.getBindingResult().getAllErrors().forEach(error -> {
@@ -32,18 +59,72 @@ public class GlobalExceptionHandler {
             validationErrors.put(fieldName, errorMessage);
         });
 
-        errors.put("message", "Validation failed");
-        errors.put("errors", validationErrors);
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Validation failed");
+        problem.setProperty("message", "Validation failed");
+        problem.setProperty("errors", validationErrors);
+        return respond(problem);
+    }
+
+    // Conflictos de concurrencia que siguieron fallando después de los reintentos
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return respond(problem(HttpStatus.CONFLICT, CONCURRENT_MODIFICATION,
+                "The resource was modified concurrently, please retry"));
+    }
 
-        return ResponseEntity.badRequest().body(errors);
+    // Solo un valor duplicado es un conflicto con el estado actual; un dato obligatorio ausente o una referencia
+    // a un registro que no existe es un error de la petición, y cualquier otra violación es un fallo nuestro
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ProblemDetail> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        String sqlState = sqlState(ex);
+        if ("23505".equals(sqlState)) {
+            return respond(problem(HttpStatus.CONFLICT, DATA_INTEGRITY_VIOLATION,
+                    "The request conflicts with the current state of the resource"));
+        }
+        if ("23502".equals(sqlState) || "23503".equals(sqlState)) {
+            return respond(problem(HttpStatus.BAD_REQUEST, INVALID_REFERENCE,
+                    "The request is missing a required value or references a resource that does not exist"));
+        }
+        log.warn("Unexpected data integrity violation (SQLState {})", sqlState, ex);
+        return respond(problem(HttpStatus.INTERNAL_SERVER_ERROR, INTERNAL_ERROR, "Internal server error"));
     }
 
+    // El detalle del error solo va al log: el mensaje de una excepción inesperada puede exponer datos internos
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("message", "Internal server error");
-        errorResponse.put("error", ex.getMessage());
+    public ResponseEntity<ProblemDetail> handleGenericException(Exception ex) {
+        log.error("Unhandled exception", ex);
+        return respond(problem(HttpStatus.INTERNAL_SERVER_ERROR, INTERNAL_ERROR, "Internal server error"));
+    }
+
+    private ResponseEntity<ProblemDetail> respond(ProblemDetail problem) {
+        errorCounter(problem.getStatus()).increment();
+        return ResponseEntity.status(problem.getStatus()).body(problem);
+    }
+
+    private Counter errorCounter(int status) {
+        return errorCounters.computeIfAbsent(status, code -> Counter.builder("cinereservas.errors")
+                .description("Error responses, by HTTP status")
+                .tag("status", String.valueOf(code))
+                .register(meterRegistry));
+    }
+
+    private static String sqlState(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    private static ProblemDetail problem(HttpStatus status, URI type, String message) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, message);
+        problem.setType(type);
+        problem.setProperty("message", message);
+        return problem;
+    }
 
-        return ResponseEntity.internalServerError().body(errorResponse);
+    private static URI problemType(String name) {
+        return URI.create("urn:cinereservas:problem:" + name);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.cinereservas.api.mapper;
+
+import com.cinereservas.api.dto.BillboardDTO;
+import com.cinereservas.api.model.BillboardEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BillboardMapper implements Mapper<BillboardEntity, BillboardDTO> {
+
+    @Override
+    public BillboardDTO toDto(BillboardEntity entity) {
+        BillboardDTO dto = new BillboardDTO();
+        dto.setId(entity.getId());
+        dto.setStatus(entity.getStatus());
+        dto.setDate(entity.getDate());
+        dto.setStartTime(entity.getStartTime());
+        dto.setEndTime(entity.getEndTime());
+        if (entity.getMovie() != null) {
+            dto.setMovieId(entity.getMovie().getId());
+            dto.setMovieName(entity.getMovie().getName());
+        }
+        if (entity.getRoom() != null) {
+            dto.setRoomId(entity.getRoom().getId());
+            dto.setRoomName(entity.getRoom().getName());
+        }
+        return dto;
+    }
+
+    @Override
+    public BillboardEntity toEntity(BillboardDTO dto) {
+        BillboardEntity entity = new BillboardEntity();
+        entity.setId(dto.getId());
+        if (dto.getStatus() != null) {
+            entity.setStatus(dto.getStatus());
+        }
+        entity.setDate(dto.getDate());
+        entity.setStartTime(dto.getStartTime());
+        entity.setEndTime(dto.getEndTime());
+        return entity;
+    }
+}
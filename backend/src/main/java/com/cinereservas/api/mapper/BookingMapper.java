@@ -0,0 +1,58 @@
+package com.cinereservas.api.mapper;
+
+import com.cinereservas.api.dto.BookingDTO;
+import com.cinereservas.api.model.BillboardEntity;
+import com.cinereservas.api.model.BookingEntity;
+import com.cinereservas.api.model.CustomerEntity;
+import com.cinereservas.api.model.SeatEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class BookingMapper implements Mapper<BookingEntity, BookingDTO> {
+
+    @Override
+    public BookingDTO toDto(BookingEntity entity) {
+        BookingDTO dto = new BookingDTO();
+        dto.setId(entity.getId());
+        dto.setStatus(entity.getStatus());
+        dto.setDate(entity.getDate());
+
+        CustomerEntity customer = entity.getCustomer();
+        if (customer != null) {
+            dto.setCustomerId(customer.getId());
+            dto.setCustomerName(BookingDTO.customerName(customer.getName(), customer.getLastname()));
+        }
+
+        SeatEntity seat = entity.getSeat();
+        if (seat != null) {
+            dto.setSeatId(seat.getId());
+            dto.setSeatLabel(BookingDTO.seatLabel(seat.getRowNumber(), seat.getNumber()));
+        }
+
+        BillboardEntity billboard = entity.getBillboard();
+        if (billboard != null) {
+            dto.setBillboardId(billboard.getId());
+
+            if (billboard.getMovie() != null) {
+                dto.setMovieName(billboard.getMovie().getName());
+            }
+
+            if (billboard.getRoom() != null) {
+                dto.setRoomName(billboard.getRoom().getName());
+            }
+        }
+
+        return dto;
+    }
+
+    @Override
+    public BookingEntity toEntity(BookingDTO dto) {
+        BookingEntity entity = new BookingEntity();
+        entity.setId(dto.getId());
+        entity.setStatus(dto.getStatus());
+        entity.setDate(dto.getDate() != null ? dto.getDate() : LocalDate.now());
+        return entity;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cinereservas.api.mapper;
+
+import com.cinereservas.api.dto.CustomerDTO;
+import com.cinereservas.api.model.CustomerEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CustomerMapper implements Mapper<CustomerEntity, CustomerDTO> {
+
+    @Override
+    public CustomerDTO toDto(CustomerEntity entity) {
+        CustomerDTO dto = new CustomerDTO();
+        dto.setId(entity.getId());
+        dto.setStatus(entity.getStatus());
+        dto.setDocumentNumber(entity.getDocumentNumber());
+        dto.setName(entity.getName());
+        dto.setLastname(entity.getLastname());
+        dto.setAge(entity.getAge());
+        dto.setPhoneNumber(entity.getPhoneNumber());
+        dto.setEmail(entity.getEmail());
+        return dto;
+    }
+
+    @Override
+    public CustomerEntity toEntity(CustomerDTO dto) {
+        CustomerEntity entity = new CustomerEntity();
+        entity.setId(dto.getId());
+        if (dto.getStatus() != null) {
+            entity.setStatus(dto.getStatus());
+        }
+        entity.setDocumentNumber(dto.getDocumentNumber());
+        entity.setName(dto.getName());
+        entity.setLastname(dto.getLastname());
+        entity.setAge(dto.getAge());
+        entity.setPhoneNumber(dto.getPhoneNumber());
+        entity.setEmail(dto.getEmail());
+        return entity;
+    }
+}
@@ -0,0 +1,13 @@
+package com.cinereservas.api.mapper;
+
+import com.cinereservas.api.dto.BaseDTO;
+import com.cinereservas.api.model.BaseEntity;
+
+// Conversión explícita entre entidades y DTOs, sin reflexión
+public interface Mapper<E extends BaseEntity, D extends BaseDTO> {
+
+    D toDto(E entity);
+
+    // Copia solo los campos propios de la entidad; las asociaciones las resuelve el servicio
+    E toEntity(D dto);
+}
@@ -0,0 +1,35 @@
+package com.cinereservas.api.mapper;
+
+import com.cinereservas.api.dto.MovieDTO;
+import com.cinereservas.api.model.MovieEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MovieMapper implements Mapper<MovieEntity, MovieDTO> {
+
+    @Override
+    public MovieDTO toDto(MovieEntity entity) {
+        MovieDTO dto = new MovieDTO();
+        dto.setId(entity.getId());
+        dto.setStatus(entity.getStatus());
+        dto.setName(entity.getName());
+        dto.setGenre(entity.getGenre());
+        dto.setAllowedAge(entity.getAllowedAge());
+        dto.setLengthMinutes(entity.getLengthMinutes());
+        return dto;
+    }
+
+    @Override
+    public MovieEntity toEntity(MovieDTO dto) {
+        MovieEntity entity = new MovieEntity();
+        entity.setId(dto.getId());
+        if (dto.getStatus() != null) {
+            entity.setStatus(dto.getStatus());
+        }
+        entity.setName(dto.getName());
+        entity.setGenre(dto.getGenre());
+        entity.setAllowedAge(dto.getAllowedAge());
+        entity.setLengthMinutes(dto.getLengthMinutes());
+        return entity;
+    }
+}
@@ -0,0 +1,31 @@
+package com.cinereservas.api.mapper;
+
+import com.cinereservas.api.dto.RoomDTO;
+import com.cinereservas.api.model.RoomEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoomMapper implements Mapper<RoomEntity, RoomDTO> {
+
+    @Override
+    public RoomDTO toDto(RoomEntity entity) {
+        RoomDTO dto = new RoomDTO();
+        dto.setId(entity.getId());
+        dto.setStatus(entity.getStatus());
+        dto.setName(entity.getName());
+        dto.setNumber(entity.getNumber());
+        return dto;
+    }
+
+    @Override
+    public RoomEntity toEntity(RoomDTO dto) {
+        RoomEntity entity = new RoomEntity();
+        entity.setId(dto.getId());
+        if (dto.getStatus() != null) {
+            entity.setStatus(dto.getStatus());
+        }
+        entity.setName(dto.getName());
+        entity.setNumber(dto.getNumber());
+        return entity;
+    }
+}
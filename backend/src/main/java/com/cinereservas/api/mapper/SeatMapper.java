@@ -0,0 +1,35 @@
+package com.cinereservas.api.mapper;
+
+import com.cinereservas.api.dto.SeatDTO;
+import com.cinereservas.api.model.SeatEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SeatMapper implements Mapper<SeatEntity, SeatDTO> {
+
+    @Override
+    public SeatDTO toDto(SeatEntity entity) {
+        SeatDTO dto = new SeatDTO();
+        dto.setId(entity.getId());
+        dto.setStatus(entity.getStatus());
+        dto.setNumber(entity.getNumber());
+        dto.setRowNumber(entity.getRowNumber());
+        if (entity.getRoom() != null) {
+            dto.setRoomId(entity.getRoom().getId());
+            dto.setRoomName(entity.getRoom().getName());
+        }
+        return dto;
+    }
+
+    @Override
+    public SeatEntity toEntity(SeatDTO dto) {
+        SeatEntity entity = new SeatEntity();
+        entity.setId(dto.getId());
+        if (dto.getStatus() != null) {
+            entity.setStatus(dto.getStatus());
+        }
+        entity.setNumber(dto.getNumber());
+        entity.setRowNumber(dto.getRowNumber());
+        return entity;
+    }
+}
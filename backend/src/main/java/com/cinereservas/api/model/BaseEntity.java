@@ -17,4 +17,9 @@ public abstract class BaseEntity {
     @NotNull
     @Column(name = "status")
     private Boolean status = true;
+
+    // Control de concurrencia optimista: las actualizaciones incluyen la versión leída en el WHERE
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "integer default 0")
+    private Integer version;
 }
\ No newline at end of file
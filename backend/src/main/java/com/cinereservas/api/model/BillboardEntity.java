@@ -11,6 +11,10 @@ import java.util.List;
 
 @Entity
 @Table(name = "billboards")
+@NamedEntityGraph(name = "Billboard.listing", attributeNodes = {
+        @NamedAttributeNode("movie"),
+        @NamedAttributeNode("room")
+})
 @Getter
 @Setter
 public class BillboardEntity extends BaseEntity {
@@ -27,14 +31,14 @@ public class BillboardEntity extends BaseEntity {
     @Column(name = "end_time")
     private LocalTime endTime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "movie_id", nullable = false)
     private MovieEntity movie;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     private RoomEntity room;
 
-    @OneToMany(mappedBy = "billboard", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "billboard", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<BookingEntity> bookings;
 }
\ No newline at end of file
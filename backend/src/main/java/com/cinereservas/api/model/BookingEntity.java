@@ -9,6 +9,14 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.detail", attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("seat"),
+        @NamedAttributeNode(value = "billboard", subgraph = "billboard")
+}, subgraphs = @NamedSubgraph(name = "billboard", attributeNodes = {
+        @NamedAttributeNode("movie"),
+        @NamedAttributeNode("room")
+}))
 @Getter
 @Setter
 public class BookingEntity extends BaseEntity {
@@ -17,15 +25,15 @@ public class BookingEntity extends BaseEntity {
     @Column(name = "date")
     private LocalDate date;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private CustomerEntity customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seat_id", nullable = false)
     private SeatEntity seat;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "billboard_id", nullable = false)
     private BillboardEntity billboard;
 }
\ No newline at end of file
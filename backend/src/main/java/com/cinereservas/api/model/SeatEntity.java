@@ -4,9 +4,14 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "seats")
+@NamedEntityGraph(name = "Seat.withRoom", attributeNodes = @NamedAttributeNode("room"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "seats")
 @Getter
 @Setter
 public class SeatEntity extends BaseEntity {
@@ -19,7 +24,7 @@ public class SeatEntity extends BaseEntity {
     @Column(name = "row_number")
     private Short rowNumber;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     private RoomEntity room;
 }
\ No newline at end of file
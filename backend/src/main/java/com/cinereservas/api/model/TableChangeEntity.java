@@ -0,0 +1,24 @@
+package com.cinereservas.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+// Contador de cambios de una tabla, incrementado por triggers de la base de datos con cada sentencia que
+// la modifica, venga de la instancia que venga. Solo se lee.
+@Entity
+@Immutable
+@Table(name = "table_changes")
+@Getter
+public class TableChangeEntity {
+
+    @Id
+    @Column(name = "table_name", length = 50)
+    private String tableName;
+
+    @Column(name = "change_count", nullable = false)
+    private Long changeCount;
+}
@@ -1,11 +1,16 @@
 package com.cinereservas.api.repository;
 
 import com.cinereservas.api.model.BaseEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @NoRepositoryBean
 public interface BaseRepository<T extends BaseEntity> extends JpaRepository<T, Integer> {
@@ -13,4 +18,16 @@ public interface BaseRepository<T extends BaseEntity> extends JpaRepository<T, I
     List<T> findAllByStatus(Boolean status);
 
     Optional<T> findByIdAndStatus(Integer id, Boolean status);
+
+    boolean existsByIdAndStatus(Integer id, Boolean status);
+
+    // Paginación por cursor (keyset) sobre el id
+    List<T> findByStatusAndIdGreaterThanOrderByIdAsc(Boolean status, Integer id, Limit limit);
+
+    // Lectura en streaming con cursor de base de datos; debe consumirse dentro de una transacción
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<T> streamByStatusOrderByIdAsc(Boolean status);
 }
\ No newline at end of file
@@ -1,27 +1,62 @@
 package com.cinereservas.api.repository;
 
+import com.cinereservas.api.dto.BillboardSeatDTO;
 import com.cinereservas.api.model.BillboardEntity;
 import com.cinereservas.api.model.MovieEntity;
 import com.cinereservas.api.model.RoomEntity;
 import com.cinereservas.api.model.enums.MovieGenreEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BillboardRepository extends BaseRepository<BillboardEntity> {
 
+    // Los listados de cartelera serializan la película y la sala
+    @Override
+    @EntityGraph("Billboard.listing")
+    List<BillboardEntity> findAllByStatus(Boolean status);
+
+    @Override
+    @EntityGraph("Billboard.listing")
+    Optional<BillboardEntity> findByIdAndStatus(Integer id, Boolean status);
+
+    @Override
+    @EntityGraph("Billboard.listing")
+    List<BillboardEntity> findByStatusAndIdGreaterThanOrderByIdAsc(Boolean status, Integer id, Limit limit);
+
+    @Override
+    @EntityGraph("Billboard.listing")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BillboardEntity> streamByStatusOrderByIdAsc(Boolean status);
+
+    @EntityGraph("Billboard.listing")
     List<BillboardEntity> findByDateAndStatus(LocalDate date, Boolean status);
 
+    @EntityGraph("Billboard.listing")
     List<BillboardEntity> findByDateBetweenAndStatus(LocalDate startDate, LocalDate endDate, Boolean status);
 
+    @EntityGraph("Billboard.listing")
     List<BillboardEntity> findByRoomAndDateAndStatus(RoomEntity room, LocalDate date, Boolean status);
 
+    @EntityGraph("Billboard.listing")
     List<BillboardEntity> findByMovieAndDateBetweenAndStatus(MovieEntity movie, LocalDate startDate, LocalDate endDate, Boolean status);
 
     // Query para obtener las reservas de películas de terror en un rango de fechas
+    @EntityGraph("Billboard.listing")
     @Query("SELECT b FROM BillboardEntity b WHERE b.movie.genre = :genre AND b.date BETWEEN :startDate AND :endDate AND b.status = true")
     List<BillboardEntity> findByMovieGenreAndDateBetween(MovieGenreEnum genre, LocalDate startDate, LocalDate endDate);
 
@@ -33,8 +68,29 @@ public interface BillboardRepository extends BaseRepository<BillboardEntity> {
             "FROM BillboardEntity b " +
             "JOIN b.room r " +
             "JOIN r.seats s " +
-            "LEFT JOIN BookingEntity bk ON bk.seat = s AND bk.billboard = b " +
+            "LEFT JOIN BookingEntity bk ON bk.seat = s AND bk.billboard = b AND bk.status = true " +
             "WHERE b.date = :date AND b.status = true AND r.status = true AND s.status = true " +
             "GROUP BY b.room.id")
     List<Object[]> countAvailableAndOccupiedSeatsByRoomForDate(LocalDate date);
+
+    // Query para obtener el estado de cada butaca de la sala para una función concreta
+    @Query("SELECT new com.cinereservas.api.dto.BillboardSeatDTO(b.id, s.id, s.number, s.rowNumber, " +
+            "CASE WHEN s.status = true AND bk.id IS NULL THEN true ELSE false END) " +
+            "FROM BillboardEntity b " +
+            "JOIN b.room r " +
+            "JOIN r.seats s " +
+            "LEFT JOIN BookingEntity bk ON bk.seat = s AND bk.billboard = b AND bk.status = true " +
+            "WHERE b.id = :billboardId AND b.status = true " +
+            "ORDER BY s.rowNumber, s.number")
+    List<BillboardSeatDTO> findSeatMapByBillboardId(Integer billboardId);
+
+    // Desactiva la cartelera con una sentencia; devuelve 0 si ya estaba cancelada
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BillboardEntity b SET b.status = false, b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.status = true")
+    int cancelById(Integer id);
+
+    // Query para obtener las funciones activas (id de cartelera, id de sala, fecha) desde una fecha
+    @Query("SELECT b.id, b.room.id, b.date FROM BillboardEntity b WHERE b.date >= :date AND b.status = true")
+    List<Object[]> findActiveShowingsFrom(LocalDate date);
 }
\ No newline at end of file
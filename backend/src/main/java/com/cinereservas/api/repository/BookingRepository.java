@@ -1,23 +1,87 @@
 package com.cinereservas.api.repository;
 
+import com.cinereservas.api.dto.BookingDTO;
+import com.cinereservas.api.dto.CustomerContactDTO;
 import com.cinereservas.api.model.BillboardEntity;
 import com.cinereservas.api.model.BookingEntity;
-import com.cinereservas.api.model.CustomerEntity;
 import com.cinereservas.api.model.SeatEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends BaseRepository<BookingEntity> {
 
-    List<BookingEntity> findByCustomerAndStatus(CustomerEntity customer, Boolean status);
+    // Proyección de reservas a BookingDTO con cliente, butaca, película y sala en una sola consulta
+    String BOOKING_DTO_SELECT = "SELECT new com.cinereservas.api.dto.BookingDTO(" +
+            "bk.id, bk.status, bk.date, c.id, c.name, c.lastname, s.id, s.rowNumber, s.number, b.id, m.name, r.name) " +
+            "FROM BookingEntity bk JOIN bk.customer c JOIN bk.seat s " +
+            "JOIN bk.billboard b JOIN b.movie m JOIN b.room r ";
 
+    // Cancelaciones y ediciones necesitan el cliente, la butaca y la función de la reserva
+    @Override
+    @EntityGraph("Booking.detail")
+    Optional<BookingEntity> findByIdAndStatus(Integer id, Boolean status);
+
+    @EntityGraph("Booking.detail")
     List<BookingEntity> findByBillboardAndStatus(BillboardEntity billboard, Boolean status);
 
     Optional<BookingEntity> findBySeatAndBillboardAndStatus(SeatEntity seat, BillboardEntity billboard, Boolean status);
 
-    List<BookingEntity> findByDateBetweenAndStatus(LocalDate startDate, LocalDate endDate, Boolean status);
+    @Query(BOOKING_DTO_SELECT + "WHERE bk.id = :id AND bk.status = true")
+    Optional<BookingDTO> findDtoById(Integer id);
+
+    @Query(BOOKING_DTO_SELECT + "WHERE bk.status = true ORDER BY bk.id")
+    List<BookingDTO> findAllDtos();
+
+    @Query(BOOKING_DTO_SELECT + "WHERE bk.status = true AND bk.id > :after ORDER BY bk.id")
+    List<BookingDTO> findDtosAfter(Integer after, Limit limit);
+
+    @Query(BOOKING_DTO_SELECT + "WHERE bk.status = true ORDER BY bk.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BookingDTO> streamAllDtos();
+
+    @Query(BOOKING_DTO_SELECT + "WHERE c.id = :customerId AND bk.status = true ORDER BY bk.id")
+    List<BookingDTO> findDtosByCustomerId(Integer customerId);
+
+    @Query(BOOKING_DTO_SELECT + "WHERE b.id = :billboardId AND bk.status = true ORDER BY bk.id")
+    List<BookingDTO> findDtosByBillboardId(Integer billboardId);
+
+    @Query(BOOKING_DTO_SELECT + "WHERE bk.date BETWEEN :startDate AND :endDate AND bk.status = true ORDER BY bk.id")
+    List<BookingDTO> findDtosByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    // Clientes con reservas activas en una cartelera, en una sola consulta
+    @Query("SELECT DISTINCT new com.cinereservas.api.dto.CustomerContactDTO(c.id, c.name, c.lastname, c.email, c.phoneNumber) " +
+            "FROM BookingEntity bk JOIN bk.customer c WHERE bk.billboard.id = :billboardId AND bk.status = true")
+    List<CustomerContactDTO> findCustomerContactsByBillboardId(Integer billboardId);
+
+    // Cancela en una sola sentencia todas las reservas activas de una cartelera
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookingEntity bk SET bk.status = false, bk.version = bk.version + 1 " +
+            "WHERE bk.billboard.id = :billboardId AND bk.status = true")
+    int cancelByBillboardId(Integer billboardId);
+
+    // Query para obtener las butacas reservadas de una cartelera
+    @Query("SELECT bk.seat.id FROM BookingEntity bk WHERE bk.billboard.id = :billboardId AND bk.status = true")
+    List<Integer> findBookedSeatIdsByBillboardId(Integer billboardId);
+
+    // Query para comprobar si una butaca tiene reserva activa en una cartelera (ux_bookings_active_seat)
+    @Query("SELECT COUNT(bk) > 0 FROM BookingEntity bk " +
+            "WHERE bk.billboard.id = :billboardId AND bk.seat.id = :seatId AND bk.status = true")
+    boolean existsActiveBooking(Integer billboardId, Integer seatId);
+
+    // Query para obtener los pares (cartelera, butaca) reservados de las funciones activas desde una fecha
+    @Query("SELECT bk.billboard.id, bk.seat.id FROM BookingEntity bk " +
+            "WHERE bk.status = true AND bk.billboard.status = true AND bk.billboard.date >= :date")
+    List<Object[]> findBookedSeatsFrom(LocalDate date);
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.cinereservas.api.repository;
 
 import com.cinereservas.api.model.MovieEntity;
 import com.cinereservas.api.model.enums.MovieGenreEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,5 +12,6 @@ import java.util.List;
 @Repository
 public interface MovieRepository extends BaseRepository<MovieEntity> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MovieEntity> findByGenreAndStatus(MovieGenreEnum genre, Boolean status);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.cinereservas.api.repository;
+
+import com.cinereservas.api.model.OutboxEventEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    // Eventos confirmados aún sin posición; SKIP LOCKED evita que dos relays tomen las mismas filas
+    @Query(value = "SELECT * FROM outbox_events WHERE position IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEventEntity> findUnpositioned(int limit);
+
+    @Query("SELECT COALESCE(MAX(e.position), 0) FROM OutboxEventEntity e")
+    long findMaxPosition();
+
+    List<OutboxEventEntity> findByPositionGreaterThanOrderByPositionAsc(Long position, Limit limit);
+}
@@ -2,15 +2,55 @@ package com.cinereservas.api.repository;
 
 import com.cinereservas.api.model.RoomEntity;
 import com.cinereservas.api.model.SeatEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SeatRepository extends BaseRepository<SeatEntity> {
 
+    // Los listados de butacas serializan el nombre de la sala
+    @Override
+    @EntityGraph("Seat.withRoom")
+    List<SeatEntity> findAllByStatus(Boolean status);
+
+    @Override
+    @EntityGraph("Seat.withRoom")
+    Optional<SeatEntity> findByIdAndStatus(Integer id, Boolean status);
+
+    @Override
+    @EntityGraph("Seat.withRoom")
+    List<SeatEntity> findByStatusAndIdGreaterThanOrderByIdAsc(Boolean status, Integer id, Limit limit);
+
+    @Override
+    @EntityGraph("Seat.withRoom")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<SeatEntity> streamByStatusOrderByIdAsc(Boolean status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<SeatEntity> findByRoomAndStatus(RoomEntity room, Boolean status);
 
+    List<SeatEntity> findByIdInAndRoomAndStatus(Collection<Integer> ids, RoomEntity room, Boolean status);
+
     Optional<SeatEntity> findByRoomAndNumberAndRowNumberAndStatus(RoomEntity room, Short number, Short rowNumber, Boolean status);
+
+    // Query para obtener los ids de las butacas de una sala
+    @Query("SELECT s.id FROM SeatEntity s WHERE s.room.id = :roomId ORDER BY s.id")
+    List<Integer> findIdsByRoomId(Integer roomId);
+
+    // Query para obtener los pares (sala, butaca) de todas las salas
+    @Query("SELECT s.room.id, s.id FROM SeatEntity s ORDER BY s.id")
+    List<Object[]> findAllRoomSeatIds();
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.cinereservas.api.repository;
+
+import com.cinereservas.api.model.TableChangeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TableChangeRepository extends JpaRepository<TableChangeEntity, String> {
+
+    // Proyección y no entidades: dentro de una transacción, las entidades ya cargadas conservarían el valor anterior
+    @Query("SELECT t.tableName, t.changeCount FROM TableChangeEntity t")
+    List<Object[]> findChangeCounts();
+}
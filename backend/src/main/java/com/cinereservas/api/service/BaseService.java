@@ -1,9 +1,11 @@
 package com.cinereservas.api.service;
 
 import com.cinereservas.api.dto.BaseDTO;
+import com.cinereservas.api.dto.CursorPageDTO;
 import com.cinereservas.api.model.BaseEntity;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BaseService<E extends BaseEntity, D extends BaseDTO> {
 
@@ -11,6 +13,10 @@ public interface BaseService<E extends BaseEntity, D extends BaseDTO> {
 
     List<D> findAll();
 
+    CursorPageDTO<D> findPage(Integer after, int limit);
+
+    void streamAll(Consumer<D> consumer);
+
     D save(D dto);
 
     D update(D dto);
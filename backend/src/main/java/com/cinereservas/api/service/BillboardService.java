@@ -1,6 +1,7 @@
 package com.cinereservas.api.service;
 
 import com.cinereservas.api.dto.BillboardDTO;
+import com.cinereservas.api.dto.BillboardSeatDTO;
 import com.cinereservas.api.model.BillboardEntity;
 import com.cinereservas.api.model.enums.MovieGenreEnum;
 
@@ -22,5 +23,7 @@ public interface BillboardService extends BaseService<BillboardEntity, Billboard
 
     Map<Integer, Map<String, Long>> getSeatsAvailabilityByRoom(LocalDate date);
 
+    List<BillboardSeatDTO> getSeatMap(Integer billboardId);
+
     void cancelBillboard(Integer billboardId);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.cinereservas.api.service;
+
+import java.time.LocalDate;
+
+public interface BillboardSnapshotService {
+
+    byte[] findByDate(LocalDate date);
+
+    byte[] findByDateRange(LocalDate startDate, LocalDate endDate);
+
+    void rebuild();
+}
@@ -1,5 +1,6 @@
 package com.cinereservas.api.service;
 
+import com.cinereservas.api.dto.BookingBatchDTO;
 import com.cinereservas.api.dto.BookingDTO;
 import com.cinereservas.api.model.BookingEntity;
 
@@ -14,5 +15,7 @@ public interface BookingService extends BaseService<BookingEntity, BookingDTO> {
 
     List<BookingDTO> findByDateRange(LocalDate startDate, LocalDate endDate);
 
+    List<BookingDTO> saveBatch(BookingBatchDTO dto);
+
     void cancelBooking(Integer bookingId);
 }
\ No newline at end of file
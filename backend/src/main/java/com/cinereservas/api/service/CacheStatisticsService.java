@@ -0,0 +1,8 @@
+package com.cinereservas.api.service;
+
+import java.util.Map;
+
+public interface CacheStatisticsService {
+
+    Map<String, Map<String, Long>> getStatistics();
+}
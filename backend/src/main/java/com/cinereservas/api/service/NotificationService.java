@@ -0,0 +1,10 @@
+package com.cinereservas.api.service;
+
+import com.cinereservas.api.dto.CancellationNotificationDTO;
+
+public interface NotificationService {
+
+    boolean enqueue(CancellationNotificationDTO notification);
+
+    int pending();
+}
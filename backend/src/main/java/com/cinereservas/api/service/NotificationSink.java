@@ -0,0 +1,12 @@
+package com.cinereservas.api.service;
+
+import com.cinereservas.api.dto.CancellationNotificationDTO;
+
+import java.util.List;
+
+// Destino de las notificaciones a clientes. Recibe lotes y debe lanzar una excepción si el envío falla
+// para que el lote se reintente.
+public interface NotificationSink {
+
+    void send(List<CancellationNotificationDTO> batch) throws Exception;
+}
@@ -0,0 +1,10 @@
+package com.cinereservas.api.service;
+
+import com.cinereservas.api.dto.EventPageDTO;
+
+public interface OutboxService {
+
+    EventPageDTO findAfter(Long after, int limit);
+
+    int relay();
+}
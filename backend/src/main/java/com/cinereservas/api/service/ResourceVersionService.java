@@ -0,0 +1,16 @@
+package com.cinereservas.api.service;
+
+public interface ResourceVersionService {
+
+    enum Resource {
+        BILLBOARDS,
+        MOVIES,
+        SEATS
+    }
+
+    String getETag(Resource resource);
+
+    String getSeatMapETag(Integer billboardId);
+
+    void refreshFromDatabase();
+}
@@ -0,0 +1,11 @@
+package com.cinereservas.api.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface SeatAvailabilityService {
+
+    Map<Integer, Map<String, Long>> getAvailabilityByRoom(LocalDate date);
+
+    void evictAll();
+}
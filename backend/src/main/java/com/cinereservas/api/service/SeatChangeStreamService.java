@@ -0,0 +1,10 @@
+package com.cinereservas.api.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface SeatChangeStreamService {
+
+    SseEmitter subscribe(Integer billboardId);
+
+    void pollOutbox();
+}
@@ -0,0 +1,18 @@
+package com.cinereservas.api.service;
+
+import com.cinereservas.api.dto.SeatHoldDTO;
+
+import java.util.Collection;
+
+public interface SeatHoldService {
+
+    SeatHoldDTO hold(Integer billboardId, SeatHoldDTO dto);
+
+    void release(Integer billboardId, String token);
+
+    void consume(Integer billboardId, String token, Collection<Integer> seatIds);
+
+    void discard(Integer billboardId);
+
+    int expireHolds();
+}
@@ -0,0 +1,22 @@
+package com.cinereservas.api.service;
+
+public interface SeatStateService {
+
+    void claim(Integer billboardId, Integer seatId);
+
+    void release(Integer billboardId, Integer seatId);
+
+    void hold(Integer billboardId, Integer seatId);
+
+    void releaseHold(Integer billboardId, Integer seatId);
+
+    void confirmHold(Integer billboardId, Integer seatId);
+
+    boolean isOccupied(Integer billboardId, Integer seatId);
+
+    void evict(Integer billboardId);
+
+    void rebuild();
+
+    int verifyConsistency();
+}
@@ -1,29 +1,46 @@
 package com.cinereservas.api.service.impl;
 
 import com.cinereservas.api.dto.BaseDTO;
+import com.cinereservas.api.dto.CursorPageDTO;
+import com.cinereservas.api.event.EntityChangedEvent;
 import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.mapper.Mapper;
 import com.cinereservas.api.model.BaseEntity;
 import com.cinereservas.api.repository.BaseRepository;
 import com.cinereservas.api.service.BaseService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Los métodos heredados se miden aquí; @Timed en cada subclase solo cubre los que ella declara
+@Timed("cinereservas.service")
 public abstract class BaseServiceImpl<E extends BaseEntity, D extends BaseDTO> implements BaseService<E, D> {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     protected final BaseRepository<E> repository;
-    protected final ModelMapper modelMapper;
+    protected final Mapper<E, D> mapper;
+    protected final ApplicationEventPublisher eventPublisher;
     private final Class<E> entityClass;
-    private final Class<D> dtoClass;
 
-    protected BaseServiceImpl(BaseRepository<E> repository, ModelMapper modelMapper,
-                              Class<E> entityClass, Class<D> dtoClass) {
+    protected BaseServiceImpl(BaseRepository<E> repository, Mapper<E, D> mapper,
+                              ApplicationEventPublisher eventPublisher, Class<E> entityClass) {
         this.repository = repository;
-        this.modelMapper = modelMapper;
+        this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
         this.entityClass = entityClass;
-        this.dtoClass = dtoClass;
     }
 
     @Override
@@ -42,11 +59,46 @@ public abstract class BaseServiceImpl<E extends BaseEntity, D extends BaseDTO> i
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<D> findPage(Integer after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw CineReservasException.badRequest("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<D> items = findPageItems(after != null ? after : 0, limit + 1);
+        boolean hasNext = items.size() > limit;
+        if (hasNext) {
+            items = items.subList(0, limit);
+        }
+
+        Integer nextCursor = hasNext ? items.get(items.size() - 1).getId() : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<D> consumer) {
+        try (Stream<E> entities = repository.streamByStatusOrderByIdAsc(true)) {
+            int[] count = {0};
+            entities.forEach(entity -> {
+                consumer.accept(mapToDto(entity));
+
+                // Vaciar el contexto de persistencia para mantener la memoria constante
+                if (++count[0] % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
     @Override
     @Transactional
     public D save(D dto) {
         E entity = mapToEntity(dto);
         entity = repository.save(entity);
+        publishChange(entity);
         return mapToDto(entity);
     }
 
@@ -57,11 +109,14 @@ public abstract class BaseServiceImpl<E extends BaseEntity, D extends BaseDTO> i
             throw CineReservasException.badRequest("ID must be provided for update operation");
         }
 
-        repository.findByIdAndStatus(dto.getId(), true)
+        E existing = repository.findByIdAndStatus(dto.getId(), true)
                 .orElseThrow(() -> CineReservasException.notFound("Entity not found with id: " + dto.getId()));
 
+        // La entidad reconstruida desde el DTO conserva la versión leída para que se fusione y no se inserte
         E entity = mapToEntity(dto);
+        entity.setVersion(existing.getVersion());
         entity = repository.save(entity);
+        publishChange(entity);
         return mapToDto(entity);
     }
 
@@ -71,6 +126,7 @@ public abstract class BaseServiceImpl<E extends BaseEntity, D extends BaseDTO> i
         E entity = repository.findByIdAndStatus(id, true)
                 .orElseThrow(() -> CineReservasException.notFound("Entity not found with id: " + id));
         repository.delete(entity);
+        publishChange(entity);
     }
 
     @Override
@@ -80,13 +136,25 @@ public abstract class BaseServiceImpl<E extends BaseEntity, D extends BaseDTO> i
                 .orElseThrow(() -> CineReservasException.notFound("Entity not found with id: " + id));
         entity.setStatus(false);
         repository.save(entity);
+        publishChange(entity);
+    }
+
+    protected List<D> findPageItems(int after, int size) {
+        return repository.findByStatusAndIdGreaterThanOrderByIdAsc(true, after, Limit.of(size)).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    // Notificar a las cachés y proyecciones en memoria que la entidad cambió
+    protected void publishChange(E entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent(entityClass, entity.getId()));
     }
 
     protected E mapToEntity(D dto) {
-        return modelMapper.map(dto, entityClass);
+        return mapper.toEntity(dto);
     }
 
     protected D mapToDto(E entity) {
-        return modelMapper.map(entity, dtoClass);
+        return mapper.toDto(entity);
     }
 }
\ No newline at end of file
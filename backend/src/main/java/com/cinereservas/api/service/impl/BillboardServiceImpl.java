@@ -1,8 +1,11 @@
 package com.cinereservas.api.service.impl;
 
 import com.cinereservas.api.dto.BillboardDTO;
-import com.cinereservas.api.dto.CustomerDTO;
+import com.cinereservas.api.dto.BillboardSeatDTO;
+import com.cinereservas.api.dto.CustomerContactDTO;
+import com.cinereservas.api.event.BillboardCancelledEvent;
 import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.mapper.BillboardMapper;
 import com.cinereservas.api.model.*;
 import com.cinereservas.api.model.enums.MovieGenreEnum;
 import com.cinereservas.api.repository.BillboardRepository;
@@ -10,34 +13,48 @@ import com.cinereservas.api.repository.BookingRepository;
 import com.cinereservas.api.repository.MovieRepository;
 import com.cinereservas.api.repository.RoomRepository;
 import com.cinereservas.api.service.BillboardService;
-import org.modelmapper.ModelMapper;
+import com.cinereservas.api.service.SeatAvailabilityService;
+import com.cinereservas.api.service.SeatHoldService;
+import com.cinereservas.api.service.SeatStateService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("cinereservas.service")
 public class BillboardServiceImpl extends BaseServiceImpl<BillboardEntity, BillboardDTO> implements BillboardService {
 
     private final BillboardRepository billboardRepository;
     private final MovieRepository movieRepository;
     private final RoomRepository roomRepository;
     private final BookingRepository bookingRepository;
+    private final SeatStateService seatStateService;
+    private final SeatHoldService seatHoldService;
+    private final SeatAvailabilityService seatAvailabilityService;
 
     public BillboardServiceImpl(BillboardRepository billboardRepository,
                                 MovieRepository movieRepository,
                                 RoomRepository roomRepository,
                                 BookingRepository bookingRepository,
-                                ModelMapper modelMapper) {
-        super(billboardRepository, modelMapper, BillboardEntity.class, BillboardDTO.class);
+                                SeatStateService seatStateService,
+                                SeatHoldService seatHoldService,
+                                SeatAvailabilityService seatAvailabilityService,
+                                BillboardMapper billboardMapper,
+                                ApplicationEventPublisher eventPublisher) {
+        super(billboardRepository, billboardMapper, eventPublisher, BillboardEntity.class);
         this.billboardRepository = billboardRepository;
         this.movieRepository = movieRepository;
         this.roomRepository = roomRepository;
         this.bookingRepository = bookingRepository;
+        this.seatStateService = seatStateService;
+        this.seatHoldService = seatHoldService;
+        this.seatAvailabilityService = seatAvailabilityService;
     }
 
     @Override
@@ -87,27 +104,18 @@ public class BillboardServiceImpl extends BaseServiceImpl<BillboardEntity, Billb
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Map<Integer, Map<String, Long>> getSeatsAvailabilityByRoom(LocalDate date) {
-        List<Object[]> results = billboardRepository.countAvailableAndOccupiedSeatsByRoomForDate(date);
-
-        Map<Integer, Map<String, Long>> availability = new HashMap<>();
-
-        for (Object[] result : results) {
-            Integer roomId = (Integer) result[0];
-            Long totalSeats = (Long) result[1];
-            Long occupiedSeats = (Long) result[2];
-            Long availableSeats = (Long) result[3];
-
-            Map<String, Long> roomStats = new HashMap<>();
-            roomStats.put("total", totalSeats);
-            roomStats.put("occupied", occupiedSeats);
-            roomStats.put("available", availableSeats);
+        return seatAvailabilityService.getAvailabilityByRoom(date);
+    }
 
-            availability.put(roomId, roomStats);
+    @Override
+    @Transactional(readOnly = true)
+    public List<BillboardSeatDTO> getSeatMap(Integer billboardId) {
+        List<BillboardSeatDTO> seatMap = billboardRepository.findSeatMapByBillboardId(billboardId);
+        if (seatMap.isEmpty() && billboardRepository.findByIdAndStatus(billboardId, true).isEmpty()) {
+            throw CineReservasException.notFound("Billboard not found with id: " + billboardId);
         }
-
-        return availability;
+        return seatMap;
     }
 
     @Override
@@ -122,58 +130,26 @@ public class BillboardServiceImpl extends BaseServiceImpl<BillboardEntity, Billb
                     "No se puede cancelar funciones de la cartelera con fecha anterior a la actual");
         }
 
-        // Obtener todas las reservas de la cartelera
-        List<BookingEntity> bookings = bookingRepository.findByBillboardAndStatus(billboard, true);
-
-        // Lista para guardar los clientes afectados
-        List<CustomerEntity> affectedCustomers = bookings.stream()
-                .map(BookingEntity::getCustomer)
-                .distinct()
-                .collect(Collectors.toList());
-
-        // Cancelar todas las reservas
-        for (BookingEntity booking : bookings) {
-            // Habilitar la butaca
-            SeatEntity seat = booking.getSeat();
-            seat.setStatus(true);
+        // Clientes afectados en una sola consulta; se notifican fuera de la transacción una vez confirmada
+        List<CustomerContactDTO> affectedCustomers = bookingRepository.findCustomerContactsByBillboardId(billboardId);
 
-            // Cancelar la reserva
-            booking.setStatus(false);
+        // Cancelar todas las reservas y la cartelera con una sentencia cada una, sin cargar las reservas
+        int cancelledBookings = bookingRepository.cancelByBillboardId(billboardId);
+        if (billboardRepository.cancelById(billboardId) == 0) {
+            throw CineReservasException.conflict("Billboard was cancelled concurrently: " + billboardId);
         }
 
-        // Cancelar la cartelera
-        billboard.setStatus(false);
-
-        // Guardar los cambios
-        billboardRepository.save(billboard);
+        // Descartar el mapa de butacas en memoria y las retenciones de la función cancelada
+        seatStateService.evict(billboardId);
+        seatHoldService.discard(billboardId);
 
-        // Imprimir los clientes afectados
-        System.out.println("Clientes afectados por la cancelación de la cartelera: " + billboardId);
-        for (CustomerEntity customer : affectedCustomers) {
-            System.out.println(String.format("- %s %s (%s)",
-                    customer.getName(),
-                    customer.getLastname(),
-                    customer.getEmail() != null ? customer.getEmail() : customer.getPhoneNumber()));
-        }
-    }
-
-    @Override
-    protected BillboardDTO mapToDto(BillboardEntity entity) {
-        BillboardDTO dto = modelMapper.map(entity, BillboardDTO.class);
-        if (entity.getMovie() != null) {
-            dto.setMovieId(entity.getMovie().getId());
-            dto.setMovieName(entity.getMovie().getName());
-        }
-        if (entity.getRoom() != null) {
-            dto.setRoomId(entity.getRoom().getId());
-            dto.setRoomName(entity.getRoom().getName());
-        }
-        return dto;
+        eventPublisher.publishEvent(new BillboardCancelledEvent(billboardId, billboard.getRoom().getId(),
+                billboard.getDate(), cancelledBookings, affectedCustomers));
     }
 
     @Override
     protected BillboardEntity mapToEntity(BillboardDTO dto) {
-        BillboardEntity entity = modelMapper.map(dto, BillboardEntity.class);
+        BillboardEntity entity = mapper.toEntity(dto);
 
         if (dto.getMovieId() != null) {
             MovieEntity movie = movieRepository.findById(dto.getMovieId())
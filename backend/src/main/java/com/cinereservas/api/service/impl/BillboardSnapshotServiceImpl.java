@@ -0,0 +1,223 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.dto.BillboardDTO;
+import com.cinereservas.api.event.BillboardCancelledEvent;
+import com.cinereservas.api.event.EntityChangedEvent;
+import com.cinereservas.api.mapper.BillboardMapper;
+import com.cinereservas.api.model.BillboardEntity;
+import com.cinereservas.api.model.MovieEntity;
+import com.cinereservas.api.model.RoomEntity;
+import com.cinereservas.api.repository.BillboardRepository;
+import com.cinereservas.api.service.BillboardSnapshotService;
+import com.cinereservas.api.service.ResourceVersionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Cartelera de los próximos días ya serializada a JSON por fecha. La instantánea es inmutable y se
+// reemplaza completa en segundo plano cuando cambian carteleras, películas o salas, o cuando cambia el día.
+// Cada instantánea guarda la versión de carteleras con la que se construyó: mientras no coincida con la
+// actual (una escritura local o una de otra instancia detectada por ResourceVersionService) las peticiones
+// se responden desde la base de datos, así nunca se sirve contenido anterior al ETag de la respuesta.
+@Slf4j
+@Service
+public class BillboardSnapshotServiceImpl implements BillboardSnapshotService {
+
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+    private static final Comparator<BillboardDTO> SHOWING_ORDER = Comparator
+            .comparing(BillboardDTO::getDate)
+            .thenComparing(BillboardDTO::getStartTime)
+            .thenComparing(BillboardDTO::getId);
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private final BillboardRepository billboardRepository;
+    private final BillboardMapper billboardMapper;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersionService resourceVersionService;
+    private final TaskExecutor taskExecutor;
+    private final int days;
+
+    public BillboardSnapshotServiceImpl(BillboardRepository billboardRepository,
+                                        BillboardMapper billboardMapper,
+                                        ObjectMapper objectMapper,
+                                        ResourceVersionService resourceVersionService,
+                                        @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                        @Value("${cinereservas.billboard-snapshot.days:14}") int days) {
+        this.billboardRepository = billboardRepository;
+        this.billboardMapper = billboardMapper;
+        this.objectMapper = objectMapper;
+        this.resourceVersionService = resourceVersionService;
+        this.taskExecutor = taskExecutor;
+        this.days = days;
+    }
+
+    @Override
+    public byte[] findByDate(LocalDate date) {
+        Snapshot current = current();
+        if (current != null && current.covers(date, date)) {
+            return current.byDate.getOrDefault(date, EMPTY_ARRAY);
+        }
+        return serialize(billboardRepository.findByDateAndStatus(date, true));
+    }
+
+    @Override
+    public byte[] findByDateRange(LocalDate startDate, LocalDate endDate) {
+        Snapshot current = current();
+        if (current != null && current.covers(startDate, endDate)) {
+            return current.slice(startDate, endDate);
+        }
+        return serialize(billboardRepository.findByDateBetweenAndStatus(startDate, endDate, true));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rebuild() {
+        // Las reconstrucciones se serializan: la última en ejecutarse ya ve todos los cambios confirmados.
+        // Se usa un lock en lugar de synchronized para no fijar el hilo portador de un hilo virtual
+        // mientras se espera la consulta
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        // La versión se lee antes de la consulta: si cambia mientras tanto, la instantánea nace obsoleta
+        String version = billboardsVersion();
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(days - 1L);
+
+        Map<LocalDate, List<BillboardDTO>> showingsByDate = billboardRepository
+                .findByDateBetweenAndStatus(from, to, true).stream()
+                .map(billboardMapper::toDto)
+                .sorted(SHOWING_ORDER)
+                .collect(Collectors.groupingBy(BillboardDTO::getDate));
+
+        Map<LocalDate, byte[]> byDate = new HashMap<>();
+        showingsByDate.forEach((date, showings) -> byDate.put(date, write(showings)));
+
+        snapshot.set(new Snapshot(version, from, to, byDate));
+        log.debug("Billboard snapshot rebuilt from {} to {} with {} dates", from, to, byDate.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Class<?> type = event.getEntityType();
+        if (type == BillboardEntity.class || type == MovieEntity.class || type == RoomEntity.class) {
+            scheduleRebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillboardCancelled(BillboardCancelledEvent event) {
+        scheduleRebuild();
+    }
+
+    // Devuelve null si no hay instantánea vigente; en ese caso se pide una reconstrucción
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current != null && current.from.equals(LocalDate.now()) && current.version.equals(billboardsVersion())) {
+            return current;
+        }
+        scheduleRebuild();
+        return null;
+    }
+
+    // Las escrituras seguidas se agrupan en una sola reconstrucción: la marca se retira antes de consultar,
+    // así cualquier cambio confirmado después pide otra
+    private void scheduleRebuild() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        } catch (TaskRejectedException ex) {
+            rebuildScheduled.set(false);
+            log.warn("Billboard snapshot rebuild rejected by the task executor", ex);
+        }
+    }
+
+    private String billboardsVersion() {
+        return resourceVersionService.getETag(ResourceVersionService.Resource.BILLBOARDS);
+    }
+
+    private byte[] serialize(List<BillboardEntity> billboards) {
+        return write(billboards.stream()
+                .map(billboardMapper::toDto)
+                .sorted(SHOWING_ORDER)
+                .collect(Collectors.toList()));
+    }
+
+    private byte[] write(List<BillboardDTO> showings) {
+        try {
+            return objectMapper.writeValueAsBytes(showings);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize billboard snapshot", ex);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final String version;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Map<LocalDate, byte[]> byDate;
+
+        private Snapshot(String version, LocalDate from, LocalDate to, Map<LocalDate, byte[]> byDate) {
+            this.version = version;
+            this.from = from;
+            this.to = to;
+            this.byDate = Map.copyOf(byDate);
+        }
+
+        private boolean covers(LocalDate startDate, LocalDate endDate) {
+            return !startDate.isBefore(from) && !endDate.isAfter(to);
+        }
+
+        // Une los arreglos JSON de cada fecha sin volver a serializar
+        private byte[] slice(LocalDate startDate, LocalDate endDate) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write('[');
+            boolean first = true;
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                byte[] json = byDate.get(date);
+                if (json == null) {
+                    continue;
+                }
+                if (!first) {
+                    out.write(',');
+                }
+                out.write(json, 1, json.length - 2);
+                first = false;
+            }
+            out.write(']');
+            return out.toByteArray();
+        }
+    }
+}
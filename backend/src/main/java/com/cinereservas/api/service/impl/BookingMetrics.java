@@ -0,0 +1,69 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.event.BillboardCancelledEvent;
+import com.cinereservas.api.event.BookingCancelledEvent;
+import com.cinereservas.api.event.BookingCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Contadores de negocio de las reservas. Los conflictos se cuentan al rechazarse la butaca, ya sea en el
+// estado en memoria o por el índice único de la base de datos; las reservas creadas y canceladas se
+// cuentan una vez confirmada la transacción, para que los reintentos y las reversiones no se sumen.
+@Component
+public class BookingMetrics {
+
+    private final Counter created;
+    private final Counter seatStateConflicts;
+    private final Counter databaseConflicts;
+    private final Counter cancelledByCustomer;
+    private final Counter cancelledByBillboard;
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.created = Counter.builder("cinereservas.bookings.created")
+                .description("Bookings committed")
+                .register(meterRegistry);
+        this.seatStateConflicts = conflicts(meterRegistry, "seat-state");
+        this.databaseConflicts = conflicts(meterRegistry, "database");
+        this.cancelledByCustomer = cancelled(meterRegistry, "customer");
+        this.cancelledByBillboard = cancelled(meterRegistry, "billboard");
+    }
+
+    public void seatStateConflict() {
+        seatStateConflicts.increment();
+    }
+
+    public void databaseConflict() {
+        databaseConflicts.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        created.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        cancelledByCustomer.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillboardCancelled(BillboardCancelledEvent event) {
+        cancelledByBillboard.increment(event.getCancelledBookings());
+    }
+
+    private static Counter conflicts(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("cinereservas.bookings.conflicts")
+                .description("Bookings rejected because the seat was already taken")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private static Counter cancelled(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("cinereservas.bookings.cancelled")
+                .description("Bookings cancelled, by the customer or with their billboard")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
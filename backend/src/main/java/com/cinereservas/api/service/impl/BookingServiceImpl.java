@@ -1,7 +1,11 @@
 package com.cinereservas.api.service.impl;
 
+import com.cinereservas.api.dto.BookingBatchDTO;
 import com.cinereservas.api.dto.BookingDTO;
+import com.cinereservas.api.event.BookingCancelledEvent;
+import com.cinereservas.api.event.BookingCreatedEvent;
 import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.mapper.BookingMapper;
 import com.cinereservas.api.model.BillboardEntity;
 import com.cinereservas.api.model.BookingEntity;
 import com.cinereservas.api.model.CustomerEntity;
@@ -11,148 +15,251 @@ import com.cinereservas.api.repository.BookingRepository;
 import com.cinereservas.api.repository.CustomerRepository;
 import com.cinereservas.api.repository.SeatRepository;
 import com.cinereservas.api.service.BookingService;
-import org.modelmapper.ModelMapper;
+import com.cinereservas.api.service.SeatHoldService;
+import com.cinereservas.api.service.SeatStateService;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("cinereservas.service")
 public class BookingServiceImpl extends BaseServiceImpl<BookingEntity, BookingDTO> implements BookingService {
 
+    private static final String ACTIVE_SEAT_INDEX = "ux_bookings_active_seat";
+
     private final BookingRepository bookingRepository;
     private final CustomerRepository customerRepository;
     private final SeatRepository seatRepository;
     private final BillboardRepository billboardRepository;
+    private final SeatStateService seatStateService;
+    private final SeatHoldService seatHoldService;
+    private final TransactionRetryExecutor retryExecutor;
+    private final BookingMetrics bookingMetrics;
 
     public BookingServiceImpl(BookingRepository bookingRepository,
                               CustomerRepository customerRepository,
                               SeatRepository seatRepository,
                               BillboardRepository billboardRepository,
-                              ModelMapper modelMapper) {
-        super(bookingRepository, modelMapper, BookingEntity.class, BookingDTO.class);
+                              SeatStateService seatStateService,
+                              SeatHoldService seatHoldService,
+                              TransactionRetryExecutor retryExecutor,
+                              BookingMetrics bookingMetrics,
+                              BookingMapper bookingMapper,
+                              ApplicationEventPublisher eventPublisher) {
+        super(bookingRepository, bookingMapper, eventPublisher, BookingEntity.class);
         this.bookingRepository = bookingRepository;
         this.customerRepository = customerRepository;
         this.seatRepository = seatRepository;
         this.billboardRepository = billboardRepository;
+        this.seatStateService = seatStateService;
+        this.seatHoldService = seatHoldService;
+        this.retryExecutor = retryExecutor;
+        this.bookingMetrics = bookingMetrics;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDTO> findByCustomerId(Integer customerId) {
-        CustomerEntity customer = customerRepository.findByIdAndStatus(customerId, true)
-                .orElseThrow(() -> CineReservasException.notFound("Customer not found with id: " + customerId));
+    public BookingDTO findById(Integer id) {
+        return bookingRepository.findDtoById(id)
+                .orElseThrow(() -> CineReservasException.notFound("Entity not found with id: " + id));
+    }
 
-        return bookingRepository.findByCustomerAndStatus(customer, true).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDTO> findAll() {
+        return bookingRepository.findAllDtos();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDTO> findByBillboardId(Integer billboardId) {
-        BillboardEntity billboard = billboardRepository.findByIdAndStatus(billboardId, true)
-                .orElseThrow(() -> CineReservasException.notFound("Billboard not found with id: " + billboardId));
+    public void streamAll(Consumer<BookingDTO> consumer) {
+        // Las proyecciones no quedan en el contexto de persistencia
+        try (Stream<BookingDTO> bookings = bookingRepository.streamAllDtos()) {
+            bookings.forEach(consumer);
+        }
+    }
 
-        return bookingRepository.findByBillboardAndStatus(billboard, true).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDTO> findByCustomerId(Integer customerId) {
+        if (!customerRepository.existsByIdAndStatus(customerId, true)) {
+            throw CineReservasException.notFound("Customer not found with id: " + customerId);
+        }
+        return bookingRepository.findDtosByCustomerId(customerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDTO> findByBillboardId(Integer billboardId) {
+        if (!billboardRepository.existsByIdAndStatus(billboardId, true)) {
+            throw CineReservasException.notFound("Billboard not found with id: " + billboardId);
+        }
+        return bookingRepository.findDtosByBillboardId(billboardId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BookingDTO> findByDateRange(LocalDate startDate, LocalDate endDate) {
-        return bookingRepository.findByDateBetweenAndStatus(startDate, endDate, true).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findDtosByDateBetween(startDate, endDate);
     }
 
     @Override
-    @Transactional
     public void cancelBooking(Integer bookingId) {
+        // Si otra transacción modificó la reserva (p. ej. la cancelación de la cartelera), se reintenta
+        // con la versión actual
+        retryExecutor.run(() -> doCancelBooking(bookingId));
+    }
+
+    private void doCancelBooking(Integer bookingId) {
         BookingEntity booking = bookingRepository.findByIdAndStatus(bookingId, true)
                 .orElseThrow(() -> CineReservasException.notFound("Booking not found with id: " + bookingId));
 
-        // Habilitar la butaca
-        SeatEntity seat = booking.getSeat();
-        seat.setStatus(true);
-        seatRepository.save(seat);
-
-        // Cancelar la reserva
+        // Cancelar la reserva; la butaca solo queda libre para esta función
         booking.setStatus(false);
         bookingRepository.save(booking);
+
+        BillboardEntity billboard = booking.getBillboard();
+        eventPublisher.publishEvent(new BookingCancelledEvent(booking.getId(), booking.getCustomer().getId(),
+                booking.getSeat().getId(), billboard.getId(), billboard.getRoom().getId(), billboard.getDate()));
+
+        // Liberar la butaca en el mapa en memoria una vez confirmada la cancelación
+        seatStateService.release(booking.getBillboard().getId(), booking.getSeat().getId());
+    }
+
+    @Override
+    public void softDelete(Integer id) {
+        // Eliminar una reserva equivale a cancelarla: libera la butaca para la función
+        cancelBooking(id);
     }
 
     @Override
-    @Transactional
     public BookingDTO save(BookingDTO dto) {
-        // Verificar que la butaca esté disponible
-        SeatEntity seat = seatRepository.findByIdAndStatus(dto.getSeatId(), true)
-                .orElseThrow(() -> CineReservasException.notFound("Seat not found or not available with id: " + dto.getSeatId()));
+        return executeBooking(() -> doSave(dto));
+    }
+
+    private BookingDTO doSave(BookingDTO dto) {
+        SeatEntity seat;
+        BillboardEntity billboard;
 
-        BillboardEntity billboard = billboardRepository.findByIdAndStatus(dto.getBillboardId(), true)
-                .orElseThrow(() -> CineReservasException.notFound("Billboard not found with id: " + dto.getBillboardId()));
+        if (dto.getHoldToken() != null) {
+            // La retención ya reclamó y validó la butaca y la cartelera; solo se consume
+            seatHoldService.consume(dto.getBillboardId(), dto.getHoldToken(), List.of(dto.getSeatId()));
+            seat = seatRepository.getReferenceById(dto.getSeatId());
+            billboard = billboardRepository.getReferenceById(dto.getBillboardId());
+        } else {
+            // Reservar la butaca en el mapa en memoria; los conflictos se rechazan sin consultar la base de datos
+            // y la reserva se libera si la transacción no confirma
+            seatStateService.claim(dto.getBillboardId(), dto.getSeatId());
 
-        // Verificar que la butaca no esté ya reservada para esta cartelera
-        bookingRepository.findBySeatAndBillboardAndStatus(seat, billboard, true)
-                .ifPresent(existingBooking -> {
-                    throw CineReservasException.conflict("Seat already booked for this billboard");
-                });
+            // Verificar que la butaca esté habilitada; la búsqueda por id se resuelve desde la cache de segundo nivel
+            seat = seatRepository.findById(dto.getSeatId())
+                    .filter(SeatEntity::getStatus)
+                    .orElseThrow(() -> CineReservasException.notFound("Seat not found or not available with id: " + dto.getSeatId()));
 
-        // Inhabilitar la butaca
-        seat.setStatus(false);
-        seatRepository.save(seat);
+            billboard = billboardRepository.findByIdAndStatus(dto.getBillboardId(), true)
+                    .orElseThrow(() -> CineReservasException.notFound("Billboard not found with id: " + dto.getBillboardId()));
+        }
 
-        // Crear la reserva
-        BookingEntity entity = mapToEntity(dto);
+        // Crear la reserva reutilizando la butaca y la cartelera ya cargadas. La inserción es la comprobación
+        // definitiva: el índice único parcial rechaza una segunda reserva activa de la misma butaca
+        BookingEntity entity = new BookingEntity();
         entity.setDate(LocalDate.now());
+        entity.setCustomer(findCustomer(dto.getCustomerId()));
+        entity.setSeat(seat);
+        entity.setBillboard(billboard);
         entity = bookingRepository.save(entity);
+        publishCreated(entity);
 
         return mapToDto(entity);
     }
 
     @Override
-    protected BookingDTO mapToDto(BookingEntity entity) {
-        BookingDTO dto = modelMapper.map(entity, BookingDTO.class);
+    public List<BookingDTO> saveBatch(BookingBatchDTO dto) {
+        return executeBooking(() -> doSaveBatch(dto));
+    }
 
-        if (entity.getCustomer() != null) {
-            dto.setCustomerId(entity.getCustomer().getId());
-            dto.setCustomerName(entity.getCustomer().getName() + " " + entity.getCustomer().getLastname());
+    private List<BookingDTO> doSaveBatch(BookingBatchDTO dto) {
+        if (dto.getCustomerId() == null || dto.getBillboardId() == null) {
+            throw CineReservasException.badRequest("Customer and billboard must be provided");
+        }
+        if (dto.getSeatIds() == null || dto.getSeatIds().isEmpty()) {
+            throw CineReservasException.badRequest("At least one seat must be provided");
         }
 
-        if (entity.getSeat() != null) {
-            dto.setSeatId(entity.getSeat().getId());
-            dto.setSeatLabel("Row " + entity.getSeat().getRowNumber() + ", Seat " + entity.getSeat().getNumber());
+        Set<Integer> seatIds = new LinkedHashSet<>(dto.getSeatIds());
+        if (seatIds.size() != dto.getSeatIds().size()) {
+            throw CineReservasException.badRequest("Duplicate seats in booking request");
         }
 
-        if (entity.getBillboard() != null) {
-            dto.setBillboardId(entity.getBillboard().getId());
+        BillboardEntity billboard;
+        List<SeatEntity> seats;
 
-            if (entity.getBillboard().getMovie() != null) {
-                dto.setMovieName(entity.getBillboard().getMovie().getName());
+        if (dto.getHoldToken() != null) {
+            // La retención ya reclamó y validó todas las butacas; solo se consume
+            seatHoldService.consume(dto.getBillboardId(), dto.getHoldToken(), seatIds);
+            billboard = billboardRepository.getReferenceById(dto.getBillboardId());
+            seats = seatIds.stream()
+                    .map(seatRepository::getReferenceById)
+                    .collect(Collectors.toList());
+        } else {
+            // Reservar todas las butacas en memoria; si alguna falla, la transacción se revierte
+            // y las butacas ya reclamadas vuelven a quedar libres
+            for (Integer seatId : seatIds) {
+                seatStateService.claim(dto.getBillboardId(), seatId);
             }
 
-            if (entity.getBillboard().getRoom() != null) {
-                dto.setRoomName(entity.getBillboard().getRoom().getName());
+            billboard = billboardRepository.findByIdAndStatus(dto.getBillboardId(), true)
+                    .orElseThrow(() -> CineReservasException.notFound("Billboard not found with id: " + dto.getBillboardId()));
+
+            // Verificar todas las butacas en una sola consulta
+            seats = seatRepository.findByIdInAndRoomAndStatus(seatIds, billboard.getRoom(), true);
+            if (seats.size() != seatIds.size()) {
+                seats.forEach(seat -> seatIds.remove(seat.getId()));
+                throw CineReservasException.notFound("Seats not found or not available in the billboard room: " + seatIds);
             }
         }
 
-        return dto;
+        CustomerEntity customer = findCustomer(dto.getCustomerId());
+        LocalDate today = LocalDate.now();
+
+        List<BookingEntity> bookings = seats.stream()
+                .map(seat -> {
+                    BookingEntity entity = new BookingEntity();
+                    entity.setDate(today);
+                    entity.setCustomer(customer);
+                    entity.setSeat(seat);
+                    entity.setBillboard(billboard);
+                    return entity;
+                })
+                .collect(Collectors.toList());
+
+        bookings = bookingRepository.saveAll(bookings);
+        bookings.forEach(this::publishCreated);
+
+        return bookings.stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
     }
 
     @Override
     protected BookingEntity mapToEntity(BookingDTO dto) {
-        BookingEntity entity = new BookingEntity();
-        entity.setId(dto.getId());
-        entity.setStatus(dto.getStatus());
-        entity.setDate(dto.getDate() != null ? dto.getDate() : LocalDate.now());
+        BookingEntity entity = mapper.toEntity(dto);
 
         if (dto.getCustomerId() != null) {
-            CustomerEntity customer = customerRepository.findById(dto.getCustomerId())
-                    .orElseThrow(() -> CineReservasException.notFound("Customer not found with id: " + dto.getCustomerId()));
-            entity.setCustomer(customer);
+            entity.setCustomer(findCustomer(dto.getCustomerId()));
         }
 
         if (dto.getSeatId() != null) {
@@ -169,4 +276,43 @@ public class BookingServiceImpl extends BaseServiceImpl<BookingEntity, BookingDT
 
         return entity;
     }
-}
\ No newline at end of file
+
+    @Override
+    protected List<BookingDTO> findPageItems(int after, int size) {
+        return bookingRepository.findDtosAfter(after, Limit.of(size));
+    }
+
+    // Las reservas se insertan directamente; si el índice único detecta otra reserva activa de la butaca
+    // (por ejemplo desde otra instancia) se responde 409 en lugar de consultar antes de insertar
+    private <T> T executeBooking(Supplier<T> operation) {
+        try {
+            return retryExecutor.execute(operation);
+        } catch (DataIntegrityViolationException ex) {
+            if (violates(ex, ACTIVE_SEAT_INDEX)) {
+                bookingMetrics.databaseConflict();
+                throw CineReservasException.SEAT_ALREADY_BOOKED;
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean violates(DataIntegrityViolationException ex, String constraintName) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraintName.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    private CustomerEntity findCustomer(Integer customerId) {
+        return customerRepository.findById(customerId)
+                .orElseThrow(() -> CineReservasException.notFound("Customer not found with id: " + customerId));
+    }
+
+    private void publishCreated(BookingEntity booking) {
+        BillboardEntity billboard = booking.getBillboard();
+        eventPublisher.publishEvent(new BookingCreatedEvent(booking.getId(), booking.getCustomer().getId(),
+                booking.getSeat().getId(), billboard.getId(), billboard.getRoom().getId(), billboard.getDate()));
+    }
+}
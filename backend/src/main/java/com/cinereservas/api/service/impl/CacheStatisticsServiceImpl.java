@@ -0,0 +1,57 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.service.CacheStatisticsService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Aciertos y fallos de la cache de segundo nivel por región y de la cache de consultas. Hibernate solo los
+// cuenta con hibernate.generate_statistics=true (perfil dev); sin ellas se responde 404 en lugar de ceros
+@Service
+@Timed("cinereservas.service")
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> getStatistics() {
+        if (!statistics.isStatisticsEnabled()) {
+            throw CineReservasException.notFound(
+                    "Cache statistics are disabled, set spring.jpa.properties.hibernate.generate_statistics=true");
+        }
+
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                result.put(region, counters(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                        regionStatistics.getPutCount()));
+            }
+        }
+
+        result.put("queries", counters(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()));
+
+        return result;
+    }
+
+    private static Map<String, Long> counters(long hits, long misses, long puts) {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        return counters;
+    }
+}
@@ -2,22 +2,26 @@ package com.cinereservas.api.service.impl;
 
 import com.cinereservas.api.dto.CustomerDTO;
 import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.mapper.CustomerMapper;
 import com.cinereservas.api.model.CustomerEntity;
 import com.cinereservas.api.repository.CustomerRepository;
 import com.cinereservas.api.service.CustomerService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
+@Timed("cinereservas.service")
 public class CustomerServiceImpl extends BaseServiceImpl<CustomerEntity, CustomerDTO> implements CustomerService {
 
     private final CustomerRepository customerRepository;
 
-    public CustomerServiceImpl(CustomerRepository customerRepository, ModelMapper modelMapper) {
-        super(customerRepository, modelMapper, CustomerEntity.class, CustomerDTO.class);
+    public CustomerServiceImpl(CustomerRepository customerRepository, CustomerMapper customerMapper,
+                               ApplicationEventPublisher eventPublisher) {
+        super(customerRepository, customerMapper, eventPublisher, CustomerEntity.class);
         this.customerRepository = customerRepository;
     }
 
@@ -55,6 +59,7 @@ public class CustomerServiceImpl extends BaseServiceImpl<CustomerEntity, Custome
 
         CustomerEntity entity = mapToEntity(dto);
         entity = customerRepository.save(entity);
+        publishChange(entity);
         return mapToDto(entity);
     }
 }
\ No newline at end of file
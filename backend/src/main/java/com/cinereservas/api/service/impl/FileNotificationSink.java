@@ -0,0 +1,47 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.dto.CancellationNotificationDTO;
+import com.cinereservas.api.service.NotificationSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Escribe cada lote como líneas JSON al final de un archivo local; sirve como bandeja de salida
+// para pruebas o para que otro proceso haga el envío real
+@Component
+@ConditionalOnProperty(name = "cinereservas.notifications.sink", havingValue = "file")
+public class FileNotificationSink implements NotificationSink {
+
+    private final ObjectWriter writer;
+    private final Path file;
+
+    public FileNotificationSink(ObjectMapper objectMapper,
+                                @Value("${cinereservas.notifications.file:notifications.ndjson}") Path file) {
+        this.writer = objectMapper.writerFor(CancellationNotificationDTO.class);
+        this.file = file;
+    }
+
+    @Override
+    public void send(List<CancellationNotificationDTO> batch) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (CancellationNotificationDTO notification : batch) {
+                out.write(writer.writeValueAsBytes(notification));
+                out.write('\n');
+            }
+        }
+    }
+}
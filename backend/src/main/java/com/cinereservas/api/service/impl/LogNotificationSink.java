@@ -0,0 +1,24 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.dto.CancellationNotificationDTO;
+import com.cinereservas.api.service.NotificationSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cinereservas.notifications.sink", havingValue = "log", matchIfMissing = true)
+public class LogNotificationSink implements NotificationSink {
+
+    @Override
+    public void send(List<CancellationNotificationDTO> batch) {
+        for (CancellationNotificationDTO notification : batch) {
+            log.info("Billboard {} on {} cancelled, notifying {} ({})",
+                    notification.getBillboardId(), notification.getBillboardDate(),
+                    notification.getCustomerName(), notification.getContact());
+        }
+    }
+}
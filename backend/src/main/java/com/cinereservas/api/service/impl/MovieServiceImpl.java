@@ -1,23 +1,27 @@
 package com.cinereservas.api.service.impl;
 
 import com.cinereservas.api.dto.MovieDTO;
+import com.cinereservas.api.mapper.MovieMapper;
 import com.cinereservas.api.model.MovieEntity;
 import com.cinereservas.api.model.enums.MovieGenreEnum;
 import com.cinereservas.api.repository.MovieRepository;
 import com.cinereservas.api.service.MovieService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("cinereservas.service")
 public class MovieServiceImpl extends BaseServiceImpl<MovieEntity, MovieDTO> implements MovieService {
 
     private final MovieRepository movieRepository;
 
-    public MovieServiceImpl(MovieRepository movieRepository, ModelMapper modelMapper) {
-        super(movieRepository, modelMapper, MovieEntity.class, MovieDTO.class);
+    public MovieServiceImpl(MovieRepository movieRepository, MovieMapper movieMapper,
+                            ApplicationEventPublisher eventPublisher) {
+        super(movieRepository, movieMapper, eventPublisher, MovieEntity.class);
         this.movieRepository = movieRepository;
     }
 
@@ -0,0 +1,168 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.dto.CancellationNotificationDTO;
+import com.cinereservas.api.dto.CustomerContactDTO;
+import com.cinereservas.api.event.BillboardCancelledEvent;
+import com.cinereservas.api.service.NotificationService;
+import com.cinereservas.api.service.NotificationSink;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Notificaciones a clientes fuera de la transacción. Los eventos confirmados se encolan en una cola
+// acotada y un único hilo los envía al destino configurado en lotes, con reintentos y espera creciente.
+// Si la cola está llena, quien publica espera hasta un plazo por evento y después se descartan las notificaciones.
+@Slf4j
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private final BlockingQueue<CancellationNotificationDTO> queue;
+    private final NotificationSink sink;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long offerTimeoutMs;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public NotificationServiceImpl(NotificationSink sink,
+                                   @Value("${cinereservas.notifications.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${cinereservas.notifications.batch-size:100}") int batchSize,
+                                   @Value("${cinereservas.notifications.max-attempts:5}") int maxAttempts,
+                                   @Value("${cinereservas.notifications.retry-backoff-ms:200}") long retryBackoffMs,
+                                   @Value("${cinereservas.notifications.offer-timeout-ms:1000}") long offerTimeoutMs) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatch, "notification-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // El despachador envía lo que quede en la cola, con sus reintentos, antes de terminar
+        running = false;
+        dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Override
+    public boolean enqueue(CancellationNotificationDTO notification) {
+        return offer(notification, deadline());
+    }
+
+    @Override
+    public int pending() {
+        return queue.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillboardCancelled(BillboardCancelledEvent event) {
+        List<CustomerContactDTO> customers = event.getAffectedCustomers();
+        if (customers == null || customers.isEmpty()) {
+            return;
+        }
+
+        // Un único plazo para todo el evento: con la cola llena, quien confirma la cancelación espera como mucho
+        // offer-timeout-ms, no ese tiempo por cada cliente afectado
+        long deadline = deadline();
+        int dropped = 0;
+        for (CustomerContactDTO customer : customers) {
+            CancellationNotificationDTO notification = new CancellationNotificationDTO(
+                    event.getBillboardId(), event.getDate(), customer.getCustomerId(),
+                    customer.getName() + " " + customer.getLastname(),
+                    customer.getEmail() != null ? customer.getEmail() : customer.getPhoneNumber());
+            if (!offer(notification, deadline)) {
+                dropped++;
+            }
+        }
+
+        if (dropped > 0) {
+            log.warn("Notification queue full, dropped {} of {} notifications for billboard {}",
+                    dropped, customers.size(), event.getBillboardId());
+        }
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+    }
+
+    // Vencido el plazo, solo se encola si queda sitio en ese momento
+    private boolean offer(CancellationNotificationDTO notification, long deadline) {
+        try {
+            return queue.offer(notification, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void dispatch() {
+        List<CancellationNotificationDTO> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                CancellationNotificationDTO first = running ? queue.poll(200, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<CancellationNotificationDTO> batch) {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                sink.send(batch);
+                return;
+            } catch (Exception ex) {
+                if (attempt == maxAttempts) {
+                    log.error("Could not deliver {} notifications after {} attempts", batch.size(), attempt, ex);
+                    return;
+                }
+                log.warn("Notification delivery failed (attempt {} of {}), retrying in {} ms",
+                        attempt, maxAttempts, backoff, ex);
+                if (!pause(backoff)) {
+                    return;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.dto.BillboardCancelledPayloadDTO;
+import com.cinereservas.api.dto.CustomerContactDTO;
+import com.cinereservas.api.dto.EventPageDTO;
+import com.cinereservas.api.dto.OutboxEventDTO;
+import com.cinereservas.api.event.BillboardCancelledEvent;
+import com.cinereservas.api.event.BookingCancelledEvent;
+import com.cinereservas.api.event.BookingCreatedEvent;
+import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.model.OutboxEventEntity;
+import com.cinereservas.api.repository.OutboxEventRepository;
+import com.cinereservas.api.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Outbox transaccional de reservas y carteleras. Los eventos se escriben antes de confirmar, dentro de la
+// misma transacción, y el relay les asigna posiciones consecutivas para el feed /api/events.
+@Slf4j
+@Service
+@Timed("cinereservas.service")
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int relayBatchSize;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${cinereservas.outbox.relay-batch-size:500}") int relayBatchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relayBatchSize = relayBatchSize;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        append("BookingCreated", "Booking", event.getBookingId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        append("BookingCancelled", "Booking", event.getBookingId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBillboardCancelled(BillboardCancelledEvent event) {
+        // El evento lleva nombre, correo y teléfono de los clientes para las notificaciones; el outbox se
+        // conserva y cualquier usuario autenticado lo lee en /api/events, así que solo se guardan los ids
+        List<Integer> customerIds = event.getAffectedCustomers().stream()
+                .map(CustomerContactDTO::getCustomerId)
+                .distinct()
+                .collect(Collectors.toList());
+        append("BillboardCancelled", "Billboard", event.getBillboardId(), new BillboardCancelledPayloadDTO(
+                event.getBillboardId(), event.getRoomId(), event.getDate(), event.getCancelledBookings(), customerIds));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventPageDTO findAfter(Long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw CineReservasException.badRequest("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        long from = after != null ? after : 0L;
+        List<OutboxEventDTO> events = outboxEventRepository
+                .findByPositionGreaterThanOrderByPositionAsc(from, Limit.of(limit + 1)).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+
+        boolean hasMore = events.size() > limit;
+        if (hasMore) {
+            events = events.subList(0, limit);
+        }
+
+        Long nextAfter = events.isEmpty() ? from : events.get(events.size() - 1).getPosition();
+        return new EventPageDTO(events, nextAfter, hasMore);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${cinereservas.outbox.relay-interval-ms:500}",
+            fixedDelayString = "${cinereservas.outbox.relay-interval-ms:500}")
+    public int relay() {
+        try {
+            return transactionTemplate.execute(status -> assignPositions());
+        } catch (DataIntegrityViolationException ex) {
+            // Otro relay asignó las mismas posiciones; se reintenta en la siguiente ejecución
+            log.debug("Outbox relay lost a position race, retrying later");
+            return 0;
+        }
+    }
+
+    private int assignPositions() {
+        List<OutboxEventEntity> pending = outboxEventRepository.findUnpositioned(relayBatchSize);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        long position = outboxEventRepository.findMaxPosition();
+        for (OutboxEventEntity event : pending) {
+            event.setPosition(++position);
+        }
+        outboxEventRepository.saveAll(pending);
+        return pending.size();
+    }
+
+    private void append(String eventType, String aggregateType, Integer aggregateId, Object payload) {
+        OutboxEventEntity entity = new OutboxEventEntity();
+        entity.setEventType(eventType);
+        entity.setAggregateType(aggregateType);
+        entity.setAggregateId(aggregateId);
+        entity.setPayload(write(payload));
+        entity.setCreatedAt(LocalDateTime.now());
+        outboxEventRepository.save(entity);
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize outbox event", ex);
+        }
+    }
+
+    private OutboxEventDTO toDto(OutboxEventEntity entity) {
+        return new OutboxEventDTO(entity.getPosition(), entity.getEventType(), entity.getAggregateType(),
+                entity.getAggregateId(), entity.getCreatedAt(), entity.getPayload());
+    }
+}
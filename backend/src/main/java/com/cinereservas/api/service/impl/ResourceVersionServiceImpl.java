@@ -0,0 +1,160 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.event.BillboardCancelledEvent;
+import com.cinereservas.api.event.BookingCancelledEvent;
+import com.cinereservas.api.event.BookingCreatedEvent;
+import com.cinereservas.api.event.EntityChangedEvent;
+import com.cinereservas.api.model.*;
+import com.cinereservas.api.repository.OutboxEventRepository;
+import com.cinereservas.api.repository.TableChangeRepository;
+import com.cinereservas.api.service.ResourceVersionService;
+import com.cinereservas.api.service.SeatAvailabilityService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Contadores de versión por agregado para generar ETags sin consultar la base de datos. Se incrementan
+// después de confirmar cada escritura; el prefijo de arranque invalida los ETags de ejecuciones anteriores.
+// Las escrituras hechas desde otra instancia no generan eventos aquí: una tarea periódica compara los contadores
+// de cambios de las tablas (mantenidos por triggers) y la posición del feed del outbox, de modo que un ETag
+// obsoleto dura como mucho un intervalo.
+// La misma tarea vacía los contadores de disponibilidad, que tampoco ven esas escrituras.
+@Service
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Resource, AtomicLong> versions = new EnumMap<>(Resource.class);
+    private final AtomicLong bookingsVersion = new AtomicLong();
+    private final ConcurrentMap<Integer, AtomicLong> seatMapVersions = new ConcurrentHashMap<>();
+    // Último contador visto de cada tabla; solo lo usa la tarea periódica
+    private final Map<String, Long> changeCounts = new ConcurrentHashMap<>();
+
+    private final TableChangeRepository tableChangeRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final SeatAvailabilityService seatAvailabilityService;
+
+    public ResourceVersionServiceImpl(TableChangeRepository tableChangeRepository,
+                                      OutboxEventRepository outboxEventRepository,
+                                      SeatAvailabilityService seatAvailabilityService) {
+        this.tableChangeRepository = tableChangeRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.seatAvailabilityService = seatAvailabilityService;
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new AtomicLong());
+        }
+    }
+
+    @Override
+    public String getETag(Resource resource) {
+        return "\"" + resource.name().toLowerCase() + "-" + epoch + "-" + versions.get(resource).get() + "\"";
+    }
+
+    // El mapa de butacas depende también de la cartelera (su sala, su estado) y de la sala; los cambios de
+    // salas ya incrementan la versión de carteleras
+    @Override
+    public String getSeatMapETag(Integer billboardId) {
+        AtomicLong billboardVersion = seatMapVersions.get(billboardId);
+        return "\"seatmap-" + epoch + "-" + versions.get(Resource.BILLBOARDS).get() + "-" + versions.get(Resource.SEATS).get()
+                + "-" + bookingsVersion.get() + "-" + (billboardVersion != null ? billboardVersion.get() : 0) + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Class<?> type = event.getEntityType();
+        if (type == BillboardEntity.class) {
+            bump(Resource.BILLBOARDS);
+        } else if (type == MovieEntity.class) {
+            // Las carteleras muestran el nombre de la película
+            bump(Resource.MOVIES);
+            bump(Resource.BILLBOARDS);
+        } else if (type == RoomEntity.class) {
+            bump(Resource.BILLBOARDS);
+            bump(Resource.SEATS);
+        } else if (type == SeatEntity.class) {
+            bump(Resource.SEATS);
+        } else if (type == BookingEntity.class) {
+            // Ediciones directas de reservas: no se sabe qué funciones afectan
+            bookingsVersion.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        bumpSeatMap(event.getBillboardId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        bumpSeatMap(event.getBillboardId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillboardCancelled(BillboardCancelledEvent event) {
+        bump(Resource.BILLBOARDS);
+        seatMapVersions.remove(event.getBillboardId());
+        bookingsVersion.incrementAndGet();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cinereservas.etag.refresh-interval-ms:5000}",
+            initialDelayString = "${cinereservas.etag.refresh-interval-ms:5000}")
+    public void refreshFromDatabase() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] result : tableChangeRepository.findChangeCounts()) {
+            counts.put((String) result[0], (Long) result[1]);
+        }
+
+        boolean availabilityChanged = false;
+        if (changed("movies", counts.get("movies"))) {
+            bump(Resource.MOVIES);
+            bump(Resource.BILLBOARDS);
+        }
+        if (changed("rooms", counts.get("rooms"))) {
+            bump(Resource.BILLBOARDS);
+            bump(Resource.SEATS);
+            availabilityChanged = true;
+        }
+        if (changed("seats", counts.get("seats"))) {
+            bump(Resource.SEATS);
+            availabilityChanged = true;
+        }
+        if (changed("billboards", counts.get("billboards"))) {
+            bump(Resource.BILLBOARDS);
+            availabilityChanged = true;
+        }
+        // Las reservas y cancelaciones de cualquier instancia avanzan la posición del feed; mantener un contador
+        // de la tabla de reservas bloquearía su fila en cada reserva
+        if (changed("outbox", outboxEventRepository.findMaxPosition())) {
+            bookingsVersion.incrementAndGet();
+            availabilityChanged = true;
+        }
+        // También avanza con las escrituras locales, así que con tráfico se recarga como mucho una vez por intervalo
+        if (availabilityChanged) {
+            seatAvailabilityService.evictAll();
+        }
+    }
+
+    // El primer valor de cada tabla solo se registra
+    private boolean changed(String table, Long count) {
+        if (count == null) {
+            return false;
+        }
+        Long previous = changeCounts.put(table, count);
+        return previous != null && !previous.equals(count);
+    }
+
+    private void bump(Resource resource) {
+        versions.get(resource).incrementAndGet();
+    }
+
+    private void bumpSeatMap(Integer billboardId) {
+        seatMapVersions.computeIfAbsent(billboardId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
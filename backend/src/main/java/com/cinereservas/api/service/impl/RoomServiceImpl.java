@@ -2,20 +2,24 @@ package com.cinereservas.api.service.impl;
 
 import com.cinereservas.api.dto.RoomDTO;
 import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.mapper.RoomMapper;
 import com.cinereservas.api.model.RoomEntity;
 import com.cinereservas.api.repository.RoomRepository;
 import com.cinereservas.api.service.RoomService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("cinereservas.service")
 public class RoomServiceImpl extends BaseServiceImpl<RoomEntity, RoomDTO> implements RoomService {
 
     private final RoomRepository roomRepository;
 
-    public RoomServiceImpl(RoomRepository roomRepository, ModelMapper modelMapper) {
-        super(roomRepository, modelMapper, RoomEntity.class, RoomDTO.class);
+    public RoomServiceImpl(RoomRepository roomRepository, RoomMapper roomMapper,
+                           ApplicationEventPublisher eventPublisher) {
+        super(roomRepository, roomMapper, eventPublisher, RoomEntity.class);
         this.roomRepository = roomRepository;
     }
 
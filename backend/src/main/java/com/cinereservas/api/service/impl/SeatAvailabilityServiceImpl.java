@@ -0,0 +1,220 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.event.BillboardCancelledEvent;
+import com.cinereservas.api.event.BookingCancelledEvent;
+import com.cinereservas.api.event.BookingCreatedEvent;
+import com.cinereservas.api.event.EntityChangedEvent;
+import com.cinereservas.api.model.BillboardEntity;
+import com.cinereservas.api.model.BookingEntity;
+import com.cinereservas.api.model.RoomEntity;
+import com.cinereservas.api.model.SeatEntity;
+import com.cinereservas.api.repository.BillboardRepository;
+import com.cinereservas.api.service.SeatAvailabilityService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Contadores de butacas totales y ocupadas por fecha y sala. Se cargan con la consulta agregada
+// la primera vez que se pide una fecha y después se mantienen con los eventos de reservas.
+// Las escrituras de otras instancias no llegan como eventos: la tarea periódica de ETags vacía los contadores
+// cuando avanza el feed del outbox, y cada carga caduca a los pocos segundos por las escrituras directas.
+// Una carga solo se guarda si ninguna transacción que cambie esa fecha estuvo en curso o terminó
+// mientras se consultaba; si no, la reserva podría quedar contada en la consulta y otra vez en su evento.
+@Service
+public class SeatAvailabilityServiceImpl implements SeatAvailabilityService {
+
+    // Las fechas se reparten en franjas para no invalidar todas las cargas con cada reserva
+    private static final int STRIPES = 64;
+
+    private final Cache<LocalDate, Map<Integer, RoomCounters>> countersByDate;
+    private final AtomicLongArray inFlight = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    private final BillboardRepository billboardRepository;
+
+    public SeatAvailabilityServiceImpl(BillboardRepository billboardRepository,
+                                       @Value("${cinereservas.availability.max-dates:60}") long maxDates,
+                                       @Value("${cinereservas.availability.expire-after-write-seconds:30}") long expireAfterWriteSeconds) {
+        this.billboardRepository = billboardRepository;
+        this.countersByDate = Caffeine.newBuilder()
+                .maximumSize(maxDates)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .build();
+    }
+
+    @Override
+    public Map<Integer, Map<String, Long>> getAvailabilityByRoom(LocalDate date) {
+        Map<Integer, RoomCounters> counters = getOrLoad(date);
+
+        Map<Integer, Map<String, Long>> availability = new HashMap<>();
+        counters.forEach((roomId, roomCounters) -> {
+            long occupied = roomCounters.occupied.get();
+
+            Map<String, Long> roomStats = new HashMap<>();
+            roomStats.put("total", roomCounters.total);
+            roomStats.put("occupied", occupied);
+            roomStats.put("available", roomCounters.total - occupied);
+
+            availability.put(roomId, roomStats);
+        });
+
+        return availability;
+    }
+
+    @Override
+    public void evictAll() {
+        countersByDate.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeBookingCreated(BookingCreatedEvent event) {
+        inFlight.incrementAndGet(stripe(event.getBillboardDate()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        adjustOccupied(event.getBillboardDate(), event.getRoomId(), 1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void afterBookingCreated(BookingCreatedEvent event) {
+        completed(stripe(event.getBillboardDate()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeBookingCancelled(BookingCancelledEvent event) {
+        inFlight.incrementAndGet(stripe(event.getBillboardDate()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        adjustOccupied(event.getBillboardDate(), event.getRoomId(), -1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void afterBookingCancelled(BookingCancelledEvent event) {
+        completed(stripe(event.getBillboardDate()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeBillboardCancelled(BillboardCancelledEvent event) {
+        inFlight.incrementAndGet(stripe(event.getDate()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillboardCancelled(BillboardCancelledEvent event) {
+        countersByDate.invalidate(event.getDate());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void afterBillboardCancelled(BillboardCancelledEvent event) {
+        completed(stripe(event.getDate()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeEntityChanged(EntityChangedEvent event) {
+        if (affectsAvailability(event)) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                inFlight.incrementAndGet(stripe);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        // Los cambios de butacas, salas, carteleras o ediciones directas de reservas son poco frecuentes:
+        // se recalcula bajo demanda
+        if (affectsAvailability(event)) {
+            evictAll();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void afterEntityChanged(EntityChangedEvent event) {
+        if (affectsAvailability(event)) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                completed(stripe);
+            }
+        }
+    }
+
+    private static boolean affectsAvailability(EntityChangedEvent event) {
+        Class<?> type = event.getEntityType();
+        return type == SeatEntity.class || type == RoomEntity.class
+                || type == BillboardEntity.class || type == BookingEntity.class;
+    }
+
+    private void completed(int stripe) {
+        versions.incrementAndGet(stripe);
+        inFlight.decrementAndGet(stripe);
+    }
+
+    private void adjustOccupied(LocalDate date, Integer roomId, long delta) {
+        countersByDate.asMap().computeIfPresent(date, (key, counters) -> {
+            RoomCounters roomCounters = counters.get(roomId);
+            if (roomCounters == null) {
+                return null;
+            }
+            roomCounters.occupied.addAndGet(delta);
+            return counters;
+        });
+    }
+
+    // La consulta se hace fuera del mapa para no retener su bloqueo mientras se espera a la base de datos;
+    // la comprobación final se hace dentro de compute, igual que los ajustes, para no cruzarse con ellos
+    private Map<Integer, RoomCounters> getOrLoad(LocalDate date) {
+        Map<Integer, RoomCounters> cached = countersByDate.getIfPresent(date);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(date);
+        long version = versions.get(stripe);
+        boolean quiet = inFlight.get(stripe) == 0;
+        Map<Integer, RoomCounters> loaded = load(date);
+        if (!quiet) {
+            return loaded;
+        }
+
+        Map<Integer, RoomCounters> installed = countersByDate.asMap().compute(date, (key, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return inFlight.get(stripe) == 0 && versions.get(stripe) == version ? loaded : null;
+        });
+        return installed != null ? installed : loaded;
+    }
+
+    private static int stripe(LocalDate date) {
+        return Math.floorMod(date.hashCode(), STRIPES);
+    }
+
+    private Map<Integer, RoomCounters> load(LocalDate date) {
+        Map<Integer, RoomCounters> counters = new HashMap<>();
+        for (Object[] result : billboardRepository.countAvailableAndOccupiedSeatsByRoomForDate(date)) {
+            counters.put((Integer) result[0], new RoomCounters((Long) result[1], (Long) result[2]));
+        }
+        return counters;
+    }
+
+    private static final class RoomCounters {
+
+        private final long total;
+        private final AtomicLong occupied;
+
+        private RoomCounters(long total, long occupied) {
+            this.total = total;
+            this.occupied = new AtomicLong(occupied);
+        }
+    }
+}
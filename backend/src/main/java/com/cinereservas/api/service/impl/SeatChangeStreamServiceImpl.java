@@ -0,0 +1,226 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.dto.SeatChangeDTO;
+import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.model.OutboxEventEntity;
+import com.cinereservas.api.repository.BillboardRepository;
+import com.cinereservas.api.repository.OutboxEventRepository;
+import com.cinereservas.api.service.SeatChangeStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Difusión de cambios de butacas por cartelera mediante Server-Sent Events. Cada suscriptor tiene una
+// cola acotada que se vacía en el pool de tareas; si se llena, el suscriptor se desconecta en lugar de
+// bloquear a quien confirma la reserva.
+// Los cambios se leen del feed del outbox y no de los eventos locales: así los suscriptores de esta instancia
+// también ven las reservas y cancelaciones confirmadas en otras, con el retraso del relay y de la consulta.
+@Slf4j
+@Service
+public class SeatChangeStreamServiceImpl implements SeatChangeStreamService {
+
+    private static final String SEAT_TAKEN = "seat-taken";
+    private static final String SEAT_RELEASED = "seat-released";
+    private static final String BILLBOARD_CANCELLED = "billboard-cancelled";
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private final ConcurrentMap<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // Última posición del feed ya difundida; null hasta la primera consulta, que no repite el historial
+    private Long lastPosition;
+
+    private final BillboardRepository billboardRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+    private final long timeoutMs;
+    private final int queueCapacity;
+
+    public SeatChangeStreamServiceImpl(BillboardRepository billboardRepository,
+                                       OutboxEventRepository outboxEventRepository,
+                                       ObjectMapper objectMapper,
+                                       @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                       @Value("${cinereservas.seat-stream.timeout-ms:1800000}") long timeoutMs,
+                                       @Value("${cinereservas.seat-stream.queue-capacity:256}") int queueCapacity) {
+        this.billboardRepository = billboardRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public SseEmitter subscribe(Integer billboardId) {
+        if (!billboardRepository.existsByIdAndStatus(billboardId, true)) {
+            throw CineReservasException.notFound("Billboard not found with id: " + billboardId);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(billboardId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+
+        subscribers.compute(billboardId, (id, current) -> {
+            Set<Subscriber> billboardSubscribers = current != null ? current : ConcurrentHashMap.newKeySet();
+            billboardSubscribers.add(subscriber);
+            return billboardSubscribers;
+        });
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+
+        return emitter;
+    }
+
+    // Sin suscriptores solo se avanza la posición, para no difundir cambios antiguos al primero que llegue
+    @Override
+    @Scheduled(initialDelayString = "${cinereservas.seat-stream.poll-interval-ms:500}",
+            fixedDelayString = "${cinereservas.seat-stream.poll-interval-ms:500}")
+    public synchronized void pollOutbox() {
+        if (lastPosition == null || subscribers.isEmpty()) {
+            lastPosition = outboxEventRepository.findMaxPosition();
+            return;
+        }
+
+        List<OutboxEventEntity> events;
+        do {
+            events = outboxEventRepository.findByPositionGreaterThanOrderByPositionAsc(lastPosition,
+                    Limit.of(POLL_BATCH_SIZE));
+            for (OutboxEventEntity event : events) {
+                broadcast(event);
+                lastPosition = event.getPosition();
+            }
+        } while (events.size() == POLL_BATCH_SIZE);
+    }
+
+    private void broadcast(OutboxEventEntity event) {
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException ex) {
+            log.warn("Skipping unreadable outbox event at position {}", event.getPosition());
+            return;
+        }
+
+        Integer billboardId = payload.path("billboardId").isInt() ? payload.get("billboardId").asInt() : null;
+        if (billboardId == null || !subscribers.containsKey(billboardId)) {
+            return;
+        }
+        Integer seatId = payload.path("seatId").isInt() ? payload.get("seatId").asInt() : null;
+
+        String eventType = event.getEventType();
+        if (eventType.equals("BookingCreated")) {
+            publish(billboardId, new SeatChange(SEAT_TAKEN, new SeatChangeDTO(billboardId, seatId, false)));
+        } else if (eventType.equals("BookingCancelled")) {
+            publish(billboardId, new SeatChange(SEAT_RELEASED, new SeatChangeDTO(billboardId, seatId, true)));
+        } else if (eventType.equals("BillboardCancelled")) {
+            publish(billboardId, new SeatChange(BILLBOARD_CANCELLED, new SeatChangeDTO(billboardId, null, null)));
+        }
+    }
+
+    private void publish(Integer billboardId, SeatChange change) {
+        Set<Subscriber> billboardSubscribers = subscribers.get(billboardId);
+        if (billboardSubscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : billboardSubscribers) {
+            if (!subscriber.queue.offer(change)) {
+                log.debug("Dropping slow seat stream subscriber for billboard {}", billboardId);
+                close(subscriber);
+                continue;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            taskExecutor.execute(() -> drain(subscriber));
+        } catch (RuntimeException ex) {
+            subscriber.draining.set(false);
+            close(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SeatChange change;
+            while (!subscriber.closed && (change = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event().name(change.name).data(change.data));
+                if (change.name.equals(BILLBOARD_CANCELLED)) {
+                    close(subscriber);
+                }
+            }
+        } catch (Exception ex) {
+            // El cliente se desconectó
+            remove(subscriber);
+            subscriber.closed = true;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // Un evento pudo llegar entre el último poll y la liberación del indicador
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.billboardId, (id, billboardSubscribers) -> {
+            billboardSubscribers.remove(subscriber);
+            return billboardSubscribers.isEmpty() ? null : billboardSubscribers;
+        });
+    }
+
+    private static final class SeatChange {
+
+        private final String name;
+        private final SeatChangeDTO data;
+
+        private SeatChange(String name, SeatChangeDTO data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final Integer billboardId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SeatChange> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Integer billboardId, SseEmitter emitter, BlockingQueue<SeatChange> queue) {
+            this.billboardId = billboardId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
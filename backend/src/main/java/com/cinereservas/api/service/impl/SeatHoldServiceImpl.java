@@ -0,0 +1,288 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.dto.SeatHoldDTO;
+import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.model.BillboardEntity;
+import com.cinereservas.api.model.SeatEntity;
+import com.cinereservas.api.repository.BillboardRepository;
+import com.cinereservas.api.repository.SeatRepository;
+import com.cinereservas.api.service.SeatHoldService;
+import com.cinereservas.api.service.SeatStateService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Retenciones temporales de butacas: las butacas retenidas quedan reclamadas en el estado en memoria
+// hasta que se confirma la reserva, se libera la retención o vence su TTL.
+@Slf4j
+@Service
+@Timed("cinereservas.service")
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private final ConcurrentMap<Integer, ConcurrentMap<String, SeatHold>> holdsByBillboard = new ConcurrentHashMap<>();
+    private final DelayQueue<SeatHold> expiryQueue = new DelayQueue<>();
+
+    private final SeatStateService seatStateService;
+    private final BillboardRepository billboardRepository;
+    private final SeatRepository seatRepository;
+    private final Duration ttl;
+    private final int maxSeats;
+
+    // Rotación de retenciones: cuántas se crean y cómo terminan
+    private final Counter holdsCreated;
+    private final Counter holdsReleased;
+    private final Counter holdsConsumed;
+    private final Counter holdsExpired;
+
+    public SeatHoldServiceImpl(SeatStateService seatStateService,
+                               BillboardRepository billboardRepository,
+                               SeatRepository seatRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${cinereservas.holds.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${cinereservas.holds.max-seats:10}") int maxSeats) {
+        this.seatStateService = seatStateService;
+        this.billboardRepository = billboardRepository;
+        this.seatRepository = seatRepository;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxSeats = maxSeats;
+
+        this.holdsCreated = holdCounter(meterRegistry, "created");
+        this.holdsReleased = holdCounter(meterRegistry, "released");
+        this.holdsConsumed = holdCounter(meterRegistry, "consumed");
+        this.holdsExpired = holdCounter(meterRegistry, "expired");
+        Gauge.builder("cinereservas.holds.active", holdsByBillboard,
+                        holds -> holds.values().stream().mapToInt(Map::size).sum())
+                .description("Seat holds currently active")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SeatHoldDTO hold(Integer billboardId, SeatHoldDTO dto) {
+        if (dto.getSeatIds() == null || dto.getSeatIds().isEmpty()) {
+            throw CineReservasException.badRequest("At least one seat must be provided");
+        }
+        if (dto.getSeatIds().size() > maxSeats) {
+            throw CineReservasException.badRequest("A hold cannot include more than " + maxSeats + " seats");
+        }
+
+        Set<Integer> seatIds = new LinkedHashSet<>(dto.getSeatIds());
+        if (seatIds.size() != dto.getSeatIds().size()) {
+            throw CineReservasException.badRequest("Duplicate seats in hold request");
+        }
+
+        // Reclamar las butacas fuera de una transacción: quedan ocupadas hasta que la retención termine
+        List<Integer> claimed = new ArrayList<>();
+        try {
+            for (Integer seatId : seatIds) {
+                seatStateService.hold(billboardId, seatId);
+                claimed.add(seatId);
+            }
+
+            BillboardEntity billboard = billboardRepository.findByIdAndStatus(billboardId, true)
+                    .orElseThrow(() -> CineReservasException.notFound("Billboard not found with id: " + billboardId));
+
+            List<SeatEntity> seats = seatRepository.findByIdInAndRoomAndStatus(seatIds, billboard.getRoom(), true);
+            if (seats.size() != seatIds.size()) {
+                Set<Integer> missing = new LinkedHashSet<>(seatIds);
+                seats.forEach(seat -> missing.remove(seat.getId()));
+                throw CineReservasException.notFound("Seats not found or not available in the billboard room: " + missing);
+            }
+        } catch (RuntimeException ex) {
+            claimed.forEach(seatId -> seatStateService.releaseHold(billboardId, seatId));
+            throw ex;
+        }
+
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), billboardId, Set.copyOf(seatIds),
+                Instant.now().plus(ttl));
+        holdsByBillboard.compute(billboardId, (id, holds) -> {
+            ConcurrentMap<String, SeatHold> billboardHolds = holds != null ? holds : new ConcurrentHashMap<>();
+            billboardHolds.put(hold.token, hold);
+            return billboardHolds;
+        });
+        expiryQueue.add(hold);
+        holdsCreated.increment();
+
+        return toDto(hold);
+    }
+
+    @Override
+    public void release(Integer billboardId, String token) {
+        SeatHold hold = remove(billboardId, token);
+        if (hold == null) {
+            throw CineReservasException.notFound("Seat hold not found: " + token);
+        }
+        hold.seatIds.forEach(seatId -> seatStateService.releaseHold(billboardId, seatId));
+        holdsReleased.increment();
+    }
+
+    @Override
+    public void consume(Integer billboardId, String token, Collection<Integer> seatIds) {
+        SeatHold[] consumed = new SeatHold[1];
+        holdsByBillboard.computeIfPresent(billboardId, (id, holds) -> {
+            SeatHold hold = holds.get(token);
+            if (hold == null || hold.isExpired()) {
+                return holds;
+            }
+            if (!hold.seatIds.containsAll(seatIds)) {
+                throw CineReservasException.badRequest("Seats not covered by hold " + token + ": " + seatIds);
+            }
+
+            consumed[0] = hold;
+            Set<Integer> remaining = new HashSet<>(hold.seatIds);
+            remaining.removeAll(seatIds);
+            if (remaining.isEmpty()) {
+                holds.remove(token);
+            } else {
+                holds.put(token, hold.withSeats(remaining));
+            }
+            return holds.isEmpty() ? null : holds;
+        });
+
+        if (consumed[0] == null) {
+            throw CineReservasException.conflict("Seat hold not found or expired: " + token);
+        }
+        holdsConsumed.increment();
+
+        // Las butacas consumidas siguen reclamadas; si la reserva no confirma, vuelven a la retención
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<Integer> consumedSeatIds = Set.copyOf(seatIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(consumed[0].withSeats(consumedSeatIds));
+                    }
+                }
+            });
+        }
+
+        // Comprobar que las butacas siguen reclamadas en el estado en memoria antes de reservarlas
+        seatIds.forEach(seatId -> seatStateService.confirmHold(billboardId, seatId));
+    }
+
+    @Override
+    public void discard(Integer billboardId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            holdsByBillboard.remove(billboardId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holdsByBillboard.remove(billboardId);
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cinereservas.holds.sweep-interval-ms:1000}")
+    public int expireHolds() {
+        int expired = 0;
+        SeatHold next;
+
+        while ((next = expiryQueue.poll()) != null) {
+            SeatHold current = find(next.billboardId, next.token);
+            if (current != null && current.isExpired() && remove(current.billboardId, current.token) != null) {
+                current.seatIds.forEach(seatId -> seatStateService.releaseHold(current.billboardId, seatId));
+                expired++;
+            }
+        }
+
+        if (expired > 0) {
+            holdsExpired.increment(expired);
+            log.debug("Expired {} seat holds", expired);
+        }
+        return expired;
+    }
+
+    private static Counter holdCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cinereservas.holds")
+                .description("Seat holds by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private SeatHold find(Integer billboardId, String token) {
+        ConcurrentMap<String, SeatHold> holds = holdsByBillboard.get(billboardId);
+        return holds != null ? holds.get(token) : null;
+    }
+
+    private SeatHold remove(Integer billboardId, String token) {
+        SeatHold[] removed = new SeatHold[1];
+        holdsByBillboard.computeIfPresent(billboardId, (id, holds) -> {
+            removed[0] = holds.remove(token);
+            return holds.isEmpty() ? null : holds;
+        });
+        return removed[0];
+    }
+
+    private void restore(SeatHold hold) {
+        holdsByBillboard.compute(hold.billboardId, (id, holds) -> {
+            ConcurrentMap<String, SeatHold> billboardHolds = holds != null ? holds : new ConcurrentHashMap<>();
+            billboardHolds.merge(hold.token, hold, (current, restored) -> {
+                Set<Integer> seatIds = new HashSet<>(current.seatIds);
+                seatIds.addAll(restored.seatIds);
+                return current.withSeats(seatIds);
+            });
+            return billboardHolds;
+        });
+        expiryQueue.add(hold);
+    }
+
+    private static SeatHoldDTO toDto(SeatHold hold) {
+        return new SeatHoldDTO(hold.token, hold.billboardId, List.copyOf(hold.seatIds),
+                LocalDateTime.ofInstant(hold.expiresAt, ZoneId.systemDefault()));
+    }
+
+    private static final class SeatHold implements Delayed {
+
+        private final String token;
+        private final Integer billboardId;
+        private final Set<Integer> seatIds;
+        private final Instant expiresAt;
+
+        private SeatHold(String token, Integer billboardId, Set<Integer> seatIds, Instant expiresAt) {
+            this.token = token;
+            this.billboardId = billboardId;
+            this.seatIds = seatIds;
+            this.expiresAt = expiresAt;
+        }
+
+        private SeatHold withSeats(Set<Integer> seatIds) {
+            return new SeatHold(token, billboardId, Set.copyOf(seatIds), expiresAt);
+        }
+
+        private boolean isExpired() {
+            return !Instant.now().isBefore(expiresAt);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(Instant.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((SeatHold) other).expiresAt);
+        }
+    }
+}
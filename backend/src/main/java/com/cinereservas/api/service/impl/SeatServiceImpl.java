@@ -2,12 +2,14 @@ package com.cinereservas.api.service.impl;
 
 import com.cinereservas.api.dto.SeatDTO;
 import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.mapper.SeatMapper;
 import com.cinereservas.api.model.RoomEntity;
 import com.cinereservas.api.model.SeatEntity;
 import com.cinereservas.api.repository.RoomRepository;
 import com.cinereservas.api.repository.SeatRepository;
 import com.cinereservas.api.service.SeatService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,13 +17,15 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("cinereservas.service")
 public class SeatServiceImpl extends BaseServiceImpl<SeatEntity, SeatDTO> implements SeatService {
 
     private final SeatRepository seatRepository;
     private final RoomRepository roomRepository;
 
-    public SeatServiceImpl(SeatRepository seatRepository, RoomRepository roomRepository, ModelMapper modelMapper) {
-        super(seatRepository, modelMapper, SeatEntity.class, SeatDTO.class);
+    public SeatServiceImpl(SeatRepository seatRepository, RoomRepository roomRepository, SeatMapper seatMapper,
+                           ApplicationEventPublisher eventPublisher) {
+        super(seatRepository, seatMapper, eventPublisher, SeatEntity.class);
         this.seatRepository = seatRepository;
         this.roomRepository = roomRepository;
     }
@@ -58,6 +62,7 @@ public class SeatServiceImpl extends BaseServiceImpl<SeatEntity, SeatDTO> implem
 
         seat.setStatus(false);
         seatRepository.save(seat);
+        publishChange(seat);
     }
 
     @Override
@@ -68,21 +73,12 @@ public class SeatServiceImpl extends BaseServiceImpl<SeatEntity, SeatDTO> implem
 
         seat.setStatus(true);
         seatRepository.save(seat);
-    }
-
-    @Override
-    protected SeatDTO mapToDto(SeatEntity entity) {
-        SeatDTO dto = modelMapper.map(entity, SeatDTO.class);
-        if (entity.getRoom() != null) {
-            dto.setRoomId(entity.getRoom().getId());
-            dto.setRoomName(entity.getRoom().getName());
-        }
-        return dto;
+        publishChange(seat);
     }
 
     @Override
     protected SeatEntity mapToEntity(SeatDTO dto) {
-        SeatEntity entity = modelMapper.map(dto, SeatEntity.class);
+        SeatEntity entity = mapper.toEntity(dto);
         if (dto.getRoomId() != null) {
             RoomEntity room = roomRepository.findById(dto.getRoomId())
                     .orElseThrow(() -> CineReservasException.notFound("Room not found with id: " + dto.getRoomId()));
@@ -0,0 +1,477 @@
+package com.cinereservas.api.service.impl;
+
+import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.model.BillboardEntity;
+import com.cinereservas.api.repository.BillboardRepository;
+import com.cinereservas.api.repository.BookingRepository;
+import com.cinereservas.api.repository.SeatRepository;
+import com.cinereservas.api.service.SeatStateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+// Estado en memoria de las butacas por función: un bitset por cartelera con un bit por butaca
+// de la sala, reclamado con compare-and-set. La tabla bookings sigue siendo la fuente de verdad, junto con
+// las retenciones vigentes. Un bit libre permite reclamar sin consultar; un bit ocupado que no pertenece a una
+// reserva en curso ni a una retención de esta instancia es solo un indicio y se confirma con la reserva activa
+// en la base de datos: otra instancia o una escritura directa pudo liberar la butaca desde que se cargó.
+@Slf4j
+@Service
+public class SeatStateServiceImpl implements SeatStateService {
+
+    private final ConcurrentMap<Integer, ShowingSeatMap> showings = new ConcurrentHashMap<>();
+    // Butacas retenidas por función. Se guardan aparte del mapa de bits para que sobrevivan a sus recargas;
+    // la verificación las trata como ocupadas aunque no tengan reserva en la tabla
+    private final ConcurrentMap<Integer, Set<Integer>> heldSeats = new ConcurrentHashMap<>();
+
+    private final BillboardRepository billboardRepository;
+    private final SeatRepository seatRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingMetrics bookingMetrics;
+
+    public SeatStateServiceImpl(BillboardRepository billboardRepository,
+                                SeatRepository seatRepository,
+                                BookingRepository bookingRepository,
+                                BookingMetrics bookingMetrics) {
+        this.billboardRepository = billboardRepository;
+        this.seatRepository = seatRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingMetrics = bookingMetrics;
+    }
+
+    @Override
+    public void claim(Integer billboardId, Integer seatId) {
+        Object owner = new Object();
+        ShowingSeatMap showing = claimSeat(billboardId, seatId, owner);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            showing.claiming.remove(seatId, owner);
+            showing.pending.decrementAndGet();
+            return;
+        }
+
+        // Si la transacción no confirma, la butaca vuelve a quedar libre
+        int claimedIndex = showing.indexOf(seatId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    showing.clear(claimedIndex);
+                }
+                showing.claiming.remove(seatId, owner);
+                showing.pending.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void hold(Integer billboardId, Integer seatId) {
+        Object owner = new Object();
+        ShowingSeatMap showing = claimSeat(billboardId, seatId, owner);
+        heldSeats.computeIfAbsent(billboardId, id -> ConcurrentHashMap.newKeySet()).add(seatId);
+        showing.claiming.remove(seatId, owner);
+        showing.pending.decrementAndGet();
+    }
+
+    @Override
+    public void releaseHold(Integer billboardId, Integer seatId) {
+        // Solo se libera la butaca si seguía retenida; si no, el bit ya pertenece a otra reserva
+        Set<Integer> held = heldSeats.get(billboardId);
+        ShowingSeatMap showing = showings.get(billboardId);
+        if (showing == null) {
+            if (held != null) {
+                held.remove(seatId);
+            }
+            return;
+        }
+
+        showing.pending.incrementAndGet();
+        try {
+            int index = showing.indexOf(seatId);
+            if (held != null && held.remove(seatId) && index >= 0) {
+                showing.clear(index);
+            }
+        } finally {
+            showing.pending.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void confirmHold(Integer billboardId, Integer seatId) {
+        ShowingSeatMap showing = getOrLoad(billboardId);
+        int index = showing.indexOf(seatId);
+        Set<Integer> held = heldSeats.get(billboardId);
+
+        showing.pending.incrementAndGet();
+        if (index < 0 || !showing.get(index) || held == null || !held.contains(seatId)) {
+            throw noLongerHeld(showing, billboardId, seatId);
+        }
+        // Mientras la reserva no confirma, la butaca deja de figurar como retenida pero sigue siendo de esta
+        // instancia: se marca como reclamada antes de quitar la retención para que no parezca un bit obsoleto.
+        // Una reclamación que la ocupe ahora ve la retención y la suelta enseguida, sin consultar
+        Object owner = new Object();
+        while (showing.claiming.putIfAbsent(seatId, owner) != null) {
+            if (!held.contains(seatId)) {
+                throw noLongerHeld(showing, billboardId, seatId);
+            }
+            Thread.onSpinWait();
+        }
+        if (!held.remove(seatId)) {
+            showing.claiming.remove(seatId, owner);
+            throw noLongerHeld(showing, billboardId, seatId);
+        }
+        showing.modifications.incrementAndGet();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            showing.claiming.remove(seatId, owner);
+            showing.pending.decrementAndGet();
+            return;
+        }
+
+        // La butaca pasa de retenida a reservada; si la transacción no confirma, vuelve a estar retenida
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    held.add(seatId);
+                    showing.modifications.incrementAndGet();
+                }
+                showing.claiming.remove(seatId, owner);
+                showing.pending.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void release(Integer billboardId, Integer seatId) {
+        afterCommit(() -> {
+            ShowingSeatMap showing = showings.get(billboardId);
+            if (showing != null) {
+                int index = showing.indexOf(seatId);
+                if (index >= 0) {
+                    showing.clear(index);
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean isOccupied(Integer billboardId, Integer seatId) {
+        ShowingSeatMap showing = getOrLoad(billboardId);
+        int index = showing.indexOf(seatId);
+        return index >= 0 && showing.get(index);
+    }
+
+    @Override
+    public void evict(Integer billboardId) {
+        afterCommit(() -> {
+            showings.remove(billboardId);
+            heldSeats.remove(billboardId);
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        Map<Integer, Long> seen = new HashMap<>();
+        showings.forEach((billboardId, showing) -> seen.put(billboardId, showing.modifications.get()));
+
+        Map<Integer, List<Integer>> seatIdsByRoom = new HashMap<>();
+        for (Object[] row : seatRepository.findAllRoomSeatIds()) {
+            seatIdsByRoom.computeIfAbsent((Integer) row[0], roomId -> new ArrayList<>()).add((Integer) row[1]);
+        }
+
+        Map<Integer, List<Integer>> bookedSeatIdsByBillboard = new HashMap<>();
+        for (Object[] row : bookingRepository.findBookedSeatsFrom(today)) {
+            bookedSeatIdsByBillboard.computeIfAbsent((Integer) row[0], billboardId -> new ArrayList<>()).add((Integer) row[1]);
+        }
+
+        int rebuilt = 0;
+        for (Object[] row : billboardRepository.findActiveShowingsFrom(today)) {
+            Integer billboardId = (Integer) row[0];
+            List<Integer> seatIds = seatIdsByRoom.getOrDefault((Integer) row[1], List.of());
+            List<Integer> bookedSeatIds = bookedSeatIdsByBillboard.getOrDefault(billboardId, List.of());
+            ShowingSeatMap fresh = new ShowingSeatMap((LocalDate) row[2], seatIds, bookedSeatIds,
+                    heldSeats.getOrDefault(billboardId, Set.of()));
+
+            // Se reemplaza cada función por separado y solo si no cambió desde antes de leer la base de datos:
+            // las peticiones ya se están atendiendo y sus reservas en curso no deben perderse
+            Long before = seen.get(billboardId);
+            ShowingSeatMap installed = showings.compute(billboardId, (id, current) ->
+                    current == null || current.unchangedSince(before) ? fresh : current);
+            if (installed == fresh) {
+                rebuilt++;
+            }
+        }
+
+        log.info("Seat state rebuilt for {} showings from {}", rebuilt, today);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cinereservas.seat-state.verify-interval-ms:300000}",
+            initialDelayString = "${cinereservas.seat-state.verify-interval-ms:300000}")
+    public int verifyConsistency() {
+        LocalDate today = LocalDate.now();
+        int repaired = 0;
+
+        for (Map.Entry<Integer, ShowingSeatMap> entry : showings.entrySet()) {
+            Integer billboardId = entry.getKey();
+            ShowingSeatMap showing = entry.getValue();
+
+            // Las funciones pasadas ya no admiten reservas
+            if (showing.date.isBefore(today)) {
+                showings.remove(billboardId, showing);
+                heldSeats.remove(billboardId);
+                continue;
+            }
+
+            // Las reservas en curso todavía no son visibles en la tabla
+            long before = showing.modifications.get();
+            if (showing.pending.get() > 0) {
+                continue;
+            }
+
+            Set<Integer> booked = new HashSet<>(bookingRepository.findBookedSeatIdsByBillboardId(billboardId));
+            int mismatches = showing.repair(before, booked, heldSeats.getOrDefault(billboardId, Set.of()));
+            if (mismatches < 0) {
+                // La función cambió mientras se leía la base de datos; se revisa en la siguiente pasada
+                continue;
+            }
+
+            if (mismatches > 0) {
+                log.warn("Seat state for billboard {} differed from bookings in {} seats; repaired", billboardId, mismatches);
+                repaired++;
+            }
+        }
+
+        return repaired;
+    }
+
+    // Reclama la butaca y deja la función con una operación pendiente y la butaca reclamada por owner; el
+    // llamador debe cerrar ambas
+    private ShowingSeatMap claimSeat(Integer billboardId, Integer seatId, Object owner) {
+        ShowingSeatMap showing = getOrLoad(billboardId);
+        int index = showing.indexOf(seatId);
+
+        // La sala pudo recibir butacas nuevas después de cargar el mapa
+        if (index < 0 && showing.pending.get() == 0 && showings.remove(billboardId, showing)) {
+            showing = getOrLoad(billboardId);
+            index = showing.indexOf(seatId);
+        }
+
+        if (index < 0) {
+            throw CineReservasException.notFound("Seat " + seatId + " not found in the room of billboard " + billboardId);
+        }
+
+        showing.pending.incrementAndGet();
+        // Una sola reclamación local a la vez por butaca, registrada antes de tocar el bit: así un bit ocupado
+        // sin reclamación ni retención local solo puede venir de una reserva ya confirmada
+        if (showing.claiming.putIfAbsent(seatId, owner) != null) {
+            rejectClaim(showing);
+        }
+        if (showing.set(index)) {
+            return showing;
+        }
+
+        // Bit ocupado: es definitivo si la butaca está retenida en esta instancia o si tiene una reserva activa
+        Set<Integer> held = heldSeats.get(billboardId);
+        if ((held != null && held.contains(seatId)) || bookingRepository.existsActiveBooking(billboardId, seatId)) {
+            showing.claiming.remove(seatId, owner);
+            rejectClaim(showing);
+        }
+
+        // El bit seguía ocupado por una reserva ya cancelada fuera de esta instancia: la butaca está libre y
+        // se reclama manteniendo el bit. Si otra instancia la reserva a la vez, lo detiene el índice único
+        log.debug("Stale seat state bit for seat {} of billboard {}; claiming it", seatId, billboardId);
+        showing.modifications.incrementAndGet();
+        return showing;
+    }
+
+    private static CineReservasException noLongerHeld(ShowingSeatMap showing, Integer billboardId, Integer seatId) {
+        showing.pending.decrementAndGet();
+        return CineReservasException.conflict("Seat " + seatId + " is no longer held for billboard " + billboardId);
+    }
+
+    private void rejectClaim(ShowingSeatMap showing) {
+        showing.pending.decrementAndGet();
+        bookingMetrics.seatStateConflict();
+        throw CineReservasException.SEAT_ALREADY_BOOKED;
+    }
+
+    // La carga consulta la base de datos fuera del mapa: dentro de computeIfAbsent retendría el bloqueo del
+    // segmento (y fijaría el hilo portador de un hilo virtual) mientras espera. Si dos peticiones cargan la
+    // misma función a la vez, se queda la primera que se publica
+    private ShowingSeatMap getOrLoad(Integer billboardId) {
+        ShowingSeatMap showing = showings.get(billboardId);
+        if (showing != null) {
+            return showing;
+        }
+
+        ShowingSeatMap loaded = load(billboardId);
+        ShowingSeatMap existing = showings.putIfAbsent(billboardId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private ShowingSeatMap load(Integer billboardId) {
+        BillboardEntity billboard = billboardRepository.findByIdAndStatus(billboardId, true)
+                .orElseThrow(() -> CineReservasException.notFound("Billboard not found with id: " + billboardId));
+
+        return new ShowingSeatMap(billboard.getDate(),
+                seatRepository.findIdsByRoomId(billboard.getRoom().getId()),
+                bookingRepository.findBookedSeatIdsByBillboardId(billboardId),
+                heldSeats.getOrDefault(billboardId, Set.of()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class ShowingSeatMap {
+
+        private final LocalDate date;
+        private final int[] seatIds;
+        private final AtomicLongArray words;
+        private final AtomicInteger pending = new AtomicInteger();
+        // Butacas con una reserva o retención local en curso, todavía sin confirmar, y quién las reclamó: cada
+        // reclamación solo retira la suya
+        private final ConcurrentMap<Integer, Object> claiming = new ConcurrentHashMap<>();
+        // Cada cambio de bits lo incrementa; las reparaciones lo comparan con el valor leído antes de la consulta
+        private final AtomicLong modifications = new AtomicLong();
+        // Los cambios comparten el bloqueo de lectura; solo la reparación toma el de escritura
+        private final StampedLock lock = new StampedLock();
+
+        private ShowingSeatMap(LocalDate date, List<Integer> seatIds, List<Integer> bookedSeatIds,
+                               Set<Integer> heldSeatIds) {
+            this.date = date;
+            this.seatIds = seatIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+            this.words = new AtomicLongArray((this.seatIds.length + 63) >>> 6);
+
+            for (Integer seatId : bookedSeatIds) {
+                int index = indexOf(seatId);
+                if (index >= 0) {
+                    setBit(index);
+                }
+            }
+            for (Integer seatId : heldSeatIds) {
+                int index = indexOf(seatId);
+                if (index >= 0) {
+                    setBit(index);
+                }
+            }
+        }
+
+        private boolean unchangedSince(Long modificationsBefore) {
+            return modificationsBefore != null && pending.get() == 0 && modifications.get() == modificationsBefore;
+        }
+
+        // Alinea los bits con las butacas reservadas o retenidas si la función no cambió desde que se leyó la
+        // base de datos; devuelve las butacas corregidas o -1 si hubo cambios y la reparación no es segura
+        private int repair(long modificationsBefore, Set<Integer> booked, Set<Integer> held) {
+            long stamp = lock.writeLock();
+            try {
+                if (!unchangedSince(modificationsBefore)) {
+                    return -1;
+                }
+
+                int mismatches = 0;
+                for (int index = 0; index < seatIds.length; index++) {
+                    boolean expected = booked.contains(seatIds[index]) || held.contains(seatIds[index]);
+                    if (get(index) != expected) {
+                        if (expected) {
+                            setBit(index);
+                        } else {
+                            clearBit(index);
+                        }
+                        mismatches++;
+                    }
+                }
+                if (mismatches > 0) {
+                    modifications.incrementAndGet();
+                }
+                return mismatches;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private int indexOf(Integer seatId) {
+            return seatId == null ? -1 : Math.max(Arrays.binarySearch(seatIds, seatId), -1);
+        }
+
+        private boolean get(int index) {
+            return (words.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        private boolean set(int index) {
+            long stamp = lock.readLock();
+            try {
+                modifications.incrementAndGet();
+                return setBit(index);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private boolean clear(int index) {
+            long stamp = lock.readLock();
+            try {
+                modifications.incrementAndGet();
+                return clearBit(index);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private boolean setBit(int index) {
+            int word = index >>> 6;
+            long mask = 1L << index;
+            while (true) {
+                long current = words.get(word);
+                if ((current & mask) != 0) {
+                    return false;
+                }
+                if (words.compareAndSet(word, current, current | mask)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean clearBit(int index) {
+            int word = index >>> 6;
+            long mask = 1L << index;
+            while (true) {
+                long current = words.get(word);
+                if ((current & mask) == 0) {
+                    return false;
+                }
+                if (words.compareAndSet(word, current, current & ~mask)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.cinereservas.api.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Ejecuta una operación en su propia transacción y la repite si falla por concurrencia (versión
+// desactualizada, bloqueo o serialización). Los reintentos son pocos y con espera aleatoria creciente
+// para que las transacciones en conflicto no vuelvan a chocar al mismo tiempo.
+@Slf4j
+@Component
+public class TransactionRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public TransactionRetryExecutor(PlatformTransactionManager transactionManager,
+                                    @Value("${cinereservas.retry.max-attempts:3}") int maxAttempts,
+                                    @Value("${cinereservas.retry.backoff-ms:20}") long backoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    public <T> T execute(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> operation.get());
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                log.debug("Concurrent update detected (attempt {} of {}), retrying", attempt, maxAttempts);
+                pause(attempt);
+            }
+        }
+    }
+
+    public void run(Runnable operation) {
+        execute(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private void pause(int attempt) {
+        // Espera exponencial con jitter completo: entre 0 y backoff * 2^(intento - 1)
+        long bound = backoffMs << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", ex);
+        }
+    }
+}
@@ -12,7 +12,8 @@ CREATE TABLE movies (
                         genre VARCHAR(50) NOT NULL,
                         allowed_age SMALLINT NOT NULL,
                         length_minutes SMALLINT NOT NULL,
-                        status BOOLEAN NOT NULL DEFAULT TRUE
+                        status BOOLEAN NOT NULL DEFAULT TRUE,
+                        version INT NOT NULL DEFAULT 0
 );
 
 -- Tabla de salas
@@ -20,7 +21,8 @@ CREATE TABLE rooms (
                        id SERIAL PRIMARY KEY,
                        name VARCHAR(50) NOT NULL,
                        number SMALLINT NOT NULL,
-                       status BOOLEAN NOT NULL DEFAULT TRUE
+                       status BOOLEAN NOT NULL DEFAULT TRUE,
+                       version INT NOT NULL DEFAULT 0
 );
 
 -- Tabla de butacas
@@ -30,6 +32,7 @@ CREATE TABLE seats (
                        row_number SMALLINT NOT NULL,
                        room_id INT NOT NULL,
                        status BOOLEAN NOT NULL DEFAULT TRUE,
+                       version INT NOT NULL DEFAULT 0,
                        CONSTRAINT fk_room FOREIGN KEY (room_id) REFERENCES rooms(id)
 );
 
@@ -42,7 +45,8 @@ CREATE TABLE customers (
                            age SMALLINT NOT NULL,
                            phone_number VARCHAR(20),
                            email VARCHAR(100),
-                           status BOOLEAN NOT NULL DEFAULT TRUE
+                           status BOOLEAN NOT NULL DEFAULT TRUE,
+                           version INT NOT NULL DEFAULT 0
 );
 
 -- Tabla de cartelera
@@ -54,6 +58,7 @@ CREATE TABLE billboards (
                             movie_id INT NOT NULL,
                             room_id INT NOT NULL,
                             status BOOLEAN NOT NULL DEFAULT TRUE,
+                            version INT NOT NULL DEFAULT 0,
                             CONSTRAINT fk_movie FOREIGN KEY (movie_id) REFERENCES movies(id),
                             CONSTRAINT fk_room_billboard FOREIGN KEY (room_id) REFERENCES rooms(id)
 );
@@ -66,11 +71,29 @@ CREATE TABLE bookings (
                           seat_id INT NOT NULL,
                           billboard_id INT NOT NULL,
                           status BOOLEAN NOT NULL DEFAULT TRUE,
+                          version INT NOT NULL DEFAULT 0,
                           CONSTRAINT fk_customer FOREIGN KEY (customer_id) REFERENCES customers(id),
                           CONSTRAINT fk_seat FOREIGN KEY (seat_id) REFERENCES seats(id),
                           CONSTRAINT fk_billboard FOREIGN KEY (billboard_id) REFERENCES billboards(id)
 );
 
+-- Una butaca solo puede tener una reserva activa por función
+CREATE UNIQUE INDEX ux_bookings_active_seat ON bookings (billboard_id, seat_id) WHERE status;
+
+-- Outbox de eventos de reservas y carteleras; position la asigna el relay tras la confirmación
+CREATE TABLE outbox_events (
+                               id BIGSERIAL PRIMARY KEY,
+                               event_type VARCHAR(50) NOT NULL,
+                               aggregate_type VARCHAR(50) NOT NULL,
+                               aggregate_id INT NOT NULL,
+                               payload TEXT NOT NULL,
+                               created_at TIMESTAMP NOT NULL,
+                               position BIGINT
+);
+
+CREATE UNIQUE INDEX idx_outbox_events_position ON outbox_events (position);
+CREATE INDEX idx_outbox_events_unpositioned ON outbox_events (id) WHERE position IS NULL;
+
 -- Inserción de datos de prueba
 -- Películas
 INSERT INTO movies (name, genre, allowed_age, length_minutes) VALUES
@@ -193,20 +216,19 @@ SELECT id INTO billboard_id FROM billboards ORDER BY RANDOM() LIMIT 1;
 -- Seleccionar un cliente aleatorio
 customer_id := (counter % 3) + 1;
 
-        -- Seleccionar una butaca aleatoria para la sala de esa cartelera
+        -- Seleccionar una butaca libre para esa función en la sala de la cartelera
 SELECT s.id INTO seat_id
 FROM seats s
          JOIN billboards b ON s.room_id = b.room_id
 WHERE b.id = billboard_id AND s.status = TRUE
+  AND NOT EXISTS (SELECT 1 FROM bookings bk
+                  WHERE bk.seat_id = s.id AND bk.billboard_id = b.id AND bk.status = TRUE)
 ORDER BY RANDOM() LIMIT 1;
 
 -- Si encontramos una butaca disponible, crear la reserva
 IF seat_id IS NOT NULL THEN
             INSERT INTO bookings (date, customer_id, seat_id, billboard_id)
             VALUES (CURRENT_DATE - (counter % 14), customer_id, seat_id, billboard_id);
-
-            -- Marcar la butaca como ocupada
-UPDATE seats SET status = FALSE WHERE id = seat_id;
 END IF;
 END LOOP;
 END $$;
@@ -284,5 +306,6 @@ CREATE INDEX idx_billboards_room_id ON billboards(room_id);
 CREATE INDEX idx_seats_room_id ON seats(room_id);
 CREATE INDEX idx_bookings_customer_id ON bookings(customer_id);
 CREATE INDEX idx_bookings_billboard_id ON bookings(billboard_id);
+CREATE INDEX idx_bookings_billboard_seat ON bookings(billboard_id, seat_id);
 CREATE INDEX idx_bookings_date ON bookings(date);
 CREATE INDEX idx_movies_genre ON movies(genre);
\ No newline at end of file
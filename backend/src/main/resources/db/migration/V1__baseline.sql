@@ -0,0 +1,169 @@
+-- Esquema base, igual al de db/init.sql. Las bases ya creadas con init.sql se marcan como
+-- versión 1 (spring.flyway.baseline-on-migrate) y solo aplican las migraciones siguientes.
+
+-- Creación de tablas
+-- Tabla de películas
+CREATE TABLE movies (
+                        id SERIAL PRIMARY KEY,
+                        name VARCHAR(100) NOT NULL,
+                        genre VARCHAR(50) NOT NULL,
+                        allowed_age SMALLINT NOT NULL,
+                        length_minutes SMALLINT NOT NULL,
+                        status BOOLEAN NOT NULL DEFAULT TRUE,
+                        version INT NOT NULL DEFAULT 0
+);
+
+-- Tabla de salas
+CREATE TABLE rooms (
+                       id SERIAL PRIMARY KEY,
+                       name VARCHAR(50) NOT NULL,
+                       number SMALLINT NOT NULL,
+                       status BOOLEAN NOT NULL DEFAULT TRUE,
+                       version INT NOT NULL DEFAULT 0
+);
+
+-- Tabla de butacas
+CREATE TABLE seats (
+                       id SERIAL PRIMARY KEY,
+                       number SMALLINT NOT NULL,
+                       row_number SMALLINT NOT NULL,
+                       room_id INT NOT NULL,
+                       status BOOLEAN NOT NULL DEFAULT TRUE,
+                       version INT NOT NULL DEFAULT 0,
+                       CONSTRAINT fk_room FOREIGN KEY (room_id) REFERENCES rooms(id)
+);
+
+-- Tabla de clientes
+CREATE TABLE customers (
+                           id SERIAL PRIMARY KEY,
+                           document_number VARCHAR(20) NOT NULL UNIQUE,
+                           name VARCHAR(30) NOT NULL,
+                           lastname VARCHAR(30) NOT NULL,
+                           age SMALLINT NOT NULL,
+                           phone_number VARCHAR(20),
+                           email VARCHAR(100),
+                           status BOOLEAN NOT NULL DEFAULT TRUE,
+                           version INT NOT NULL DEFAULT 0
+);
+
+-- Tabla de cartelera
+CREATE TABLE billboards (
+                            id SERIAL PRIMARY KEY,
+                            date DATE NOT NULL,
+                            start_time TIME NOT NULL,
+                            end_time TIME NOT NULL,
+                            movie_id INT NOT NULL,
+                            room_id INT NOT NULL,
+                            status BOOLEAN NOT NULL DEFAULT TRUE,
+                            version INT NOT NULL DEFAULT 0,
+                            CONSTRAINT fk_movie FOREIGN KEY (movie_id) REFERENCES movies(id),
+                            CONSTRAINT fk_room_billboard FOREIGN KEY (room_id) REFERENCES rooms(id)
+);
+
+-- Tabla de reservas
+CREATE TABLE bookings (
+                          id SERIAL PRIMARY KEY,
+                          date DATE NOT NULL,
+                          customer_id INT NOT NULL,
+                          seat_id INT NOT NULL,
+                          billboard_id INT NOT NULL,
+                          status BOOLEAN NOT NULL DEFAULT TRUE,
+                          version INT NOT NULL DEFAULT 0,
+                          CONSTRAINT fk_customer FOREIGN KEY (customer_id) REFERENCES customers(id),
+                          CONSTRAINT fk_seat FOREIGN KEY (seat_id) REFERENCES seats(id),
+                          CONSTRAINT fk_billboard FOREIGN KEY (billboard_id) REFERENCES billboards(id)
+);
+
+-- Una butaca solo puede tener una reserva activa por función
+CREATE UNIQUE INDEX ux_bookings_active_seat ON bookings (billboard_id, seat_id) WHERE status;
+
+-- Outbox de eventos de reservas y carteleras; position la asigna el relay tras la confirmación
+CREATE TABLE outbox_events (
+                               id BIGSERIAL PRIMARY KEY,
+                               event_type VARCHAR(50) NOT NULL,
+                               aggregate_type VARCHAR(50) NOT NULL,
+                               aggregate_id INT NOT NULL,
+                               payload TEXT NOT NULL,
+                               created_at TIMESTAMP NOT NULL,
+                               position BIGINT
+);
+
+CREATE UNIQUE INDEX idx_outbox_events_position ON outbox_events (position);
+CREATE INDEX idx_outbox_events_unpositioned ON outbox_events (id) WHERE position IS NULL;
+
+-- Crear vistas útiles
+-- Vista de cartelera con información completa
+CREATE VIEW v_billboard_details AS
+SELECT
+    b.id,
+    b.date,
+    b.start_time,
+    b.end_time,
+    b.status,
+    m.id AS movie_id,
+    m.name AS movie_name,
+    m.genre AS movie_genre,
+    m.allowed_age,
+    r.id AS room_id,
+    r.name AS room_name
+FROM billboards b
+         JOIN movies m ON b.movie_id = m.id
+         JOIN rooms r ON b.room_id = r.id;
+
+-- Vista de reservas con información completa
+CREATE VIEW v_booking_details AS
+SELECT
+    bk.id,
+    bk.date,
+    bk.status,
+    c.id AS customer_id,
+    c.name || ' ' || c.lastname AS customer_name,
+    c.document_number,
+    s.id AS seat_id,
+    s.number AS seat_number,
+    s.row_number,
+    CASE
+        WHEN s.row_number = 1 THEN 'A'
+        WHEN s.row_number = 2 THEN 'B'
+        WHEN s.row_number = 3 THEN 'C'
+        WHEN s.row_number = 4 THEN 'D'
+        WHEN s.row_number = 5 THEN 'E'
+        WHEN s.row_number = 6 THEN 'F'
+        END || s.number AS seat_label,
+    b.id AS billboard_id,
+    m.name AS movie_name,
+    r.name AS room_name
+FROM bookings bk
+         JOIN customers c ON bk.customer_id = c.id
+         JOIN seats s ON bk.seat_id = s.id
+         JOIN billboards b ON bk.billboard_id = b.id
+         JOIN movies m ON b.movie_id = m.id
+         JOIN rooms r ON b.room_id = r.id;
+
+-- Vista para contar asientos disponibles y ocupados por sala y cartelera
+CREATE VIEW v_seat_availability AS
+SELECT
+    b.id AS billboard_id,
+    b.date,
+    r.id AS room_id,
+    r.name AS room_name,
+    COUNT(s.id) AS total_seats,
+    COUNT(bk.id) AS occupied_seats,
+    COUNT(s.id) - COUNT(bk.id) AS available_seats
+FROM billboards b
+         JOIN rooms r ON b.room_id = r.id
+         JOIN seats s ON s.room_id = r.id
+         LEFT JOIN bookings bk ON bk.seat_id = s.id AND bk.billboard_id = b.id AND bk.status = TRUE
+WHERE s.status = TRUE AND b.status = TRUE AND r.status = TRUE
+GROUP BY b.id, b.date, r.id, r.name;
+
+-- Índices para mejorar el rendimiento
+CREATE INDEX idx_billboards_date ON billboards(date);
+CREATE INDEX idx_billboards_movie_id ON billboards(movie_id);
+CREATE INDEX idx_billboards_room_id ON billboards(room_id);
+CREATE INDEX idx_seats_room_id ON seats(room_id);
+CREATE INDEX idx_bookings_customer_id ON bookings(customer_id);
+CREATE INDEX idx_bookings_billboard_id ON bookings(billboard_id);
+CREATE INDEX idx_bookings_billboard_seat ON bookings(billboard_id, seat_id);
+CREATE INDEX idx_bookings_date ON bookings(date);
+CREATE INDEX idx_movies_genre ON movies(genre);
@@ -0,0 +1,21 @@
+-- Completa las bases creadas antes de las migraciones (marcadas como versión 1 con baseline):
+-- columnas de versión y outbox de eventos. En una base nueva V1 ya los crea.
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE rooms ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE seats ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE billboards ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+                                             id BIGSERIAL PRIMARY KEY,
+                                             event_type VARCHAR(50) NOT NULL,
+                                             aggregate_type VARCHAR(50) NOT NULL,
+                                             aggregate_id INT NOT NULL,
+                                             payload TEXT NOT NULL,
+                                             created_at TIMESTAMP NOT NULL,
+                                             position BIGINT
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_outbox_events_position ON outbox_events (position);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_unpositioned ON outbox_events (id) WHERE position IS NULL;
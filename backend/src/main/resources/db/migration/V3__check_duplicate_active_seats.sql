@@ -0,0 +1,21 @@
+-- El índice único de butaca activa (V4) no puede crearse si una butaca ya tiene dos reservas activas en la
+-- misma cartelera. No se cancelan reservas automáticamente: decidir cuál se conserva es una decisión de
+-- negocio. Para encontrarlas:
+--   SELECT billboard_id, seat_id, array_agg(id ORDER BY id) FROM bookings WHERE status
+--   GROUP BY billboard_id, seat_id HAVING COUNT(*) > 1;
+DO $$
+DECLARE
+    duplicates BIGINT;
+    sample TEXT;
+BEGIN
+    SELECT COUNT(*), string_agg('billboard ' || billboard_id || ' seat ' || seat_id, ', ')
+    INTO duplicates, sample
+    FROM (SELECT billboard_id, seat_id FROM bookings WHERE status
+          GROUP BY billboard_id, seat_id HAVING COUNT(*) > 1
+          ORDER BY billboard_id, seat_id) d;
+
+    IF duplicates > 0 THEN
+        RAISE EXCEPTION 'Cannot create ux_bookings_active_seat: % seats have more than one active booking (%). Cancel the duplicated bookings and run the migration again.',
+            duplicates, left(sample, 500);
+    END IF;
+END $$;
@@ -0,0 +1,14 @@
+-- Índice único de butaca activa para las bases anteriores a las migraciones (en una base nueva V1 ya lo crea).
+-- Se crea con CONCURRENTLY para no bloquear las escrituras en bookings mientras se construye, por eso esta
+-- migración se ejecuta fuera de una transacción (V4__active_seat_unique_index.sql.conf). Si una creación
+-- anterior falló (por ejemplo, por una reserva duplicada confirmada después de la comprobación de V3), queda
+-- un índice inválido que se elimina antes.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+               WHERE c.relname = 'ux_bookings_active_seat' AND NOT i.indisvalid) THEN
+        DROP INDEX ux_bookings_active_seat;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_bookings_active_seat ON bookings (billboard_id, seat_id) WHERE status;
@@ -0,0 +1,35 @@
+-- Índices parciales sobre las filas activas (WHERE status), con las columnas en el orden de los filtros
+-- de cada consulta de los repositorios. Las filas canceladas no ocupan espacio en ellos.
+-- Se conservan los índices completos de claves foráneas (movie_id, room_id, customer_id, billboard_id):
+-- un índice parcial no sirve para comprobar referencias al borrar películas, salas o clientes.
+
+-- Cartelera por fecha y rango de fechas, instantánea y funciones activas desde hoy
+CREATE INDEX IF NOT EXISTS idx_billboards_date_active ON billboards (date, start_time) WHERE status;
+DROP INDEX IF EXISTS idx_billboards_date;
+
+-- Cartelera de una sala en una fecha
+CREATE INDEX IF NOT EXISTS idx_billboards_room_date_active ON billboards (room_id, date) WHERE status;
+
+-- Cartelera de una película en un rango de fechas
+CREATE INDEX IF NOT EXISTS idx_billboards_movie_date_active ON billboards (movie_id, date) WHERE status;
+
+-- Reservas de un cliente
+CREATE INDEX IF NOT EXISTS idx_bookings_customer_active ON bookings (customer_id) WHERE status;
+
+-- Reservas por rango de fechas
+CREATE INDEX IF NOT EXISTS idx_bookings_date_active ON bookings (date) WHERE status;
+DROP INDEX IF EXISTS idx_bookings_date;
+
+-- Las reservas de una cartelera y de una butaca en una cartelera usan ux_bookings_active_seat
+-- (billboard_id, seat_id); el índice completo equivalente queda cubierto por él
+DROP INDEX IF EXISTS idx_bookings_billboard_seat;
+
+-- Butacas de una sala, y búsqueda por sala, fila y número
+CREATE INDEX IF NOT EXISTS idx_seats_room_active ON seats (room_id, row_number, number) WHERE status;
+
+-- Películas por género
+CREATE INDEX IF NOT EXISTS idx_movies_genre_active ON movies (genre) WHERE status;
+DROP INDEX IF EXISTS idx_movies_genre;
+
+-- Clientes por correo
+CREATE INDEX IF NOT EXISTS idx_customers_email_active ON customers (email) WHERE status;
@@ -0,0 +1,11 @@
+-- Los eventos BillboardCancelled guardaban los datos de contacto de los clientes afectados (nombre, correo,
+-- teléfono), legibles por cualquier usuario autenticado en /api/events. Se reemplazan por sus ids, igual que
+-- en los eventos nuevos.
+UPDATE outbox_events
+SET payload = ((payload::jsonb - 'affectedCustomers')
+    || jsonb_build_object('customerIds', COALESCE(
+        (SELECT jsonb_agg(DISTINCT (customer ->> 'customerId')::int)
+         FROM jsonb_array_elements(payload::jsonb -> 'affectedCustomers') customer),
+        '[]'::jsonb)))::text
+WHERE event_type = 'BillboardCancelled'
+  AND payload::jsonb ? 'affectedCustomers';
@@ -0,0 +1,29 @@
+-- Contador de cambios por tabla para detectar escrituras hechas desde otras instancias (ETags y caches).
+-- Sustituye a la huella COUNT + SUM(version), que recorría las tablas completas en cada intervalo y no
+-- detectaba el borrado de una fila con versión 0 seguido de un alta en el mismo intervalo.
+-- Los triggers son por sentencia y las tablas vigiladas solo cambian con operaciones de administración:
+-- la fila del contador se bloquea hasta el final de cada transacción que las modifica.
+CREATE TABLE IF NOT EXISTS table_changes (
+                                             table_name VARCHAR(50) PRIMARY KEY,
+                                             change_count BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO table_changes (table_name)
+VALUES ('movies'), ('rooms'), ('seats'), ('billboards')
+ON CONFLICT (table_name) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION count_table_change() RETURNS trigger AS $$
+BEGIN
+    UPDATE table_changes SET change_count = change_count + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE TRIGGER trg_movies_changes AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON movies
+    FOR EACH STATEMENT EXECUTE FUNCTION count_table_change();
+CREATE OR REPLACE TRIGGER trg_rooms_changes AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON rooms
+    FOR EACH STATEMENT EXECUTE FUNCTION count_table_change();
+CREATE OR REPLACE TRIGGER trg_seats_changes AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON seats
+    FOR EACH STATEMENT EXECUTE FUNCTION count_table_change();
+CREATE OR REPLACE TRIGGER trg_billboards_changes AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON billboards
+    FOR EACH STATEMENT EXECUTE FUNCTION count_table_change();
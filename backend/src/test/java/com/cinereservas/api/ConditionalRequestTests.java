@@ -0,0 +1,164 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.service.BillboardSnapshotService;
+import com.cinereservas.api.service.ResourceVersionService;
+import com.cinereservas.api.service.SeatAvailabilityService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Los ETags de las lecturas condicionales deben cambiar con cualquier escritura que altere la respuesta,
+// también con las hechas desde otra instancia (aquí, directamente en la base de datos). Cada prueba crea sus
+// datos y todo se revierte al terminar
+@SpringBootTest(properties = {
+		"cinereservas.outbox.relay-interval-ms=3600000",
+		"cinereservas.etag.refresh-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class ConditionalRequestTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ResourceVersionService resourceVersionService;
+
+	@Autowired
+	private BillboardSnapshotService billboardSnapshotService;
+
+	@Autowired
+	private SeatAvailabilityService seatAvailabilityService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	// Dentro de la transacción de la prueba no llegan los eventos de confirmación: el borrado se escribe en la base
+	// de datos y se detecta, como el de otra instancia, con la tarea periódica
+	@Test
+	void seatMapIsNotServedFromATagOfADeletedBillboard() throws Exception {
+		Integer billboardId = createBillboard(LocalDate.now().plusDays(30));
+		resourceVersionService.refreshFromDatabase();
+		String eTag = mockMvc.perform(get("/api/billboards/{id}/seats", billboardId))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(delete("/api/billboards/{id}", billboardId)).andExpect(status().is2xxSuccessful());
+		entityManager.flush();
+		resourceVersionService.refreshFromDatabase();
+
+		int conditionalStatus = mockMvc.perform(get("/api/billboards/{id}/seats", billboardId)
+						.header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andReturn().getResponse().getStatus();
+		assertThat(conditionalStatus).isNotEqualTo(304);
+	}
+
+	@Test
+	void billboardSnapshotIsNotServedAfterWritesFromAnotherInstance() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(1);
+		Integer billboardId = createBillboard(date);
+		resourceVersionService.refreshFromDatabase();
+		billboardSnapshotService.rebuild();
+
+		jdbcTemplate.update("UPDATE billboards SET status = false, version = version + 1 WHERE id = ?", billboardId);
+		resourceVersionService.refreshFromDatabase();
+
+		mockMvc.perform(get("/api/billboards/date/{date}", date))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.id == %d)]", billboardId).doesNotExist());
+	}
+
+	@Test
+	void writesFromAnotherInstanceChangeTheTagAfterTheRefresh() throws Exception {
+		Integer movieId = createMovie("Editada");
+		resourceVersionService.refreshFromDatabase();
+		String eTag = mockMvc.perform(get("/api/movies"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		jdbcTemplate.update("UPDATE movies SET version = version + 1 WHERE id = ?", movieId);
+		resourceVersionService.refreshFromDatabase();
+
+		mockMvc.perform(get("/api/movies").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk());
+	}
+
+	// Mismo número de filas y misma suma de versiones antes y después: solo el contador de cambios lo detecta
+	@Test
+	void deleteAndInsertWithinOneIntervalChangeTheTag() throws Exception {
+		Integer movieId = createMovie("Borrada");
+		resourceVersionService.refreshFromDatabase();
+		String eTag = mockMvc.perform(get("/api/movies"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		jdbcTemplate.update("DELETE FROM movies WHERE id = ?", movieId);
+		createMovie("Nueva");
+		resourceVersionService.refreshFromDatabase();
+
+		mockMvc.perform(get("/api/movies").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk());
+	}
+
+	// La reserva y su evento del outbox se escriben directamente, como lo haría otra instancia
+	@Test
+	void bookingsFromAnotherInstanceAreCountedAfterTheRefresh() {
+		LocalDate date = LocalDate.now().plusDays(30);
+		Integer billboardId = createBillboard(date);
+		Integer roomId = jdbcTemplate.queryForObject("SELECT room_id FROM billboards WHERE id = ?", Integer.class, billboardId);
+		seatAvailabilityService.evictAll();
+		resourceVersionService.refreshFromDatabase();
+		long occupied = occupied(date, roomId);
+
+		Integer bookingId = jdbcTemplate.queryForObject("""
+				INSERT INTO bookings (date, customer_id, seat_id, billboard_id, status)
+				VALUES (CURRENT_DATE, (SELECT MIN(id) FROM customers),
+				        (SELECT MIN(id) FROM seats WHERE room_id = ? AND status), ?, true)
+				RETURNING id""", Integer.class, roomId, billboardId);
+		jdbcTemplate.update("""
+				INSERT INTO outbox_events (event_type, aggregate_type, aggregate_id, payload, created_at, position)
+				SELECT 'BookingCreated', 'Booking', ?, '{}', now(), COALESCE(MAX(position), 0) + 1 FROM outbox_events""",
+				bookingId);
+		assertThat(occupied(date, roomId)).isEqualTo(occupied);
+
+		resourceVersionService.refreshFromDatabase();
+		assertThat(occupied(date, roomId)).isEqualTo(occupied + 1);
+	}
+
+	private Integer createBillboard(LocalDate date) {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO billboards (date, start_time, end_time, movie_id, room_id, status)
+				SELECT ?, TIME '10:00', TIME '12:00', (SELECT MIN(id) FROM movies), MIN(room_id), true
+				FROM seats WHERE status
+				RETURNING id""", Integer.class, date);
+	}
+
+	private Integer createMovie(String name) {
+		return jdbcTemplate.queryForObject(
+				"INSERT INTO movies (name, genre, allowed_age, length_minutes) VALUES (?, 'DRAMA', 7, 90) RETURNING id",
+				Integer.class, name);
+	}
+
+	private long occupied(LocalDate date, Integer roomId) {
+		return seatAvailabilityService.getAvailabilityByRoom(date).get(roomId).get("occupied");
+	}
+}
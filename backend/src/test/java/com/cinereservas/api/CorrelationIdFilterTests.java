@@ -0,0 +1,49 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.config.CorrelationIdFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// El id de correlación se mantiene durante toda la petición, también en los despachos asíncronos
+class CorrelationIdFilterTests {
+
+	private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+	@Test
+	void asyncDispatchReusesTheIdOfTheOriginalRequest() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/billboards/date/2026-10-18");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicReference<String> loggedId = new AtomicReference<>();
+		FilterChain chain = (req, res) -> loggedId.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+
+		filter.doFilter(request, response, chain);
+		String correlationId = response.getHeader(CorrelationIdFilter.HEADER);
+		response.setCommitted(true);
+
+		request.setDispatcherType(DispatcherType.ASYNC);
+		filter.doFilter(request, response, chain);
+
+		assertThat(correlationId).isNotNull();
+		assertThat(loggedId.get()).isEqualTo(correlationId);
+		assertThat(response.getHeaders(CorrelationIdFilter.HEADER)).containsExactly(correlationId);
+	}
+
+	@Test
+	void invalidIdsFromTheClientAreReplaced() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies");
+		request.addHeader(CorrelationIdFilter.HEADER, "bad id\nwith a new line");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> { });
+
+		assertThat(response.getHeader(CorrelationIdFilter.HEADER)).matches("[0-9a-f-]{36}");
+	}
+}
@@ -0,0 +1,42 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Las violaciones de integridad se clasifican por su SQLState y no todas son un 409
+class GlobalExceptionHandlerTests {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+	@Test
+	void uniqueViolationsAreConflicts() {
+		assertThat(status("23505")).isEqualTo(409);
+	}
+
+	@Test
+	void missingValuesAndReferencesAreBadRequests() {
+		assertThat(status("23502")).isEqualTo(400);
+		assertThat(status("23503")).isEqualTo(400);
+	}
+
+	@Test
+	void otherViolationsAreServerErrors() {
+		assertThat(status("23514")).isEqualTo(500);
+		assertThat(handler.handleDataIntegrityViolation(new DataIntegrityViolationException("no cause"))
+				.getStatusCode().value()).isEqualTo(500);
+	}
+
+	private int status(String sqlState) {
+		ResponseEntity<ProblemDetail> response = handler.handleDataIntegrityViolation(new DataIntegrityViolationException(
+				"constraint violated", new SQLException("constraint violated", sqlState)));
+		return response.getStatusCode().value();
+	}
+}
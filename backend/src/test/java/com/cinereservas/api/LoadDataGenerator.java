@@ -0,0 +1,82 @@
+package com.cinereservas.api;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Genera un cine sintético a escala configurable (salas × butacas × días) con inserciones por conjuntos
+// que se resuelven en el servidor (generate_series), sin ida y vuelta por fila. Los datos son
+// deterministas: la misma escala produce siempre las mismas filas y los mismos ids.
+@Slf4j
+class LoadDataGenerator {
+
+	private static final String GENRES = "ARRAY['ACTION','ADVENTURE','COMEDY','DRAMA','FANTASY','HORROR','MUSICALS',"
+			+ "'MYSTERY','ROMANCE','SCIENCE_FICTION','SPORTS','THRILLER','WESTERN']";
+
+	private static final int SEATS_PER_ROW = 20;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final int movies;
+	private final int rooms;
+	private final int seatsPerRoom;
+	private final int days;
+	private final int showsPerDay;
+	private final int customers;
+	private final int occupancyPercent;
+
+	LoadDataGenerator(JdbcTemplate jdbcTemplate, int movies, int rooms, int seatsPerRoom, int days,
+					  int showsPerDay, int customers, int occupancyPercent) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.movies = movies;
+		this.rooms = rooms;
+		this.seatsPerRoom = seatsPerRoom;
+		this.days = days;
+		this.showsPerDay = showsPerDay;
+		this.customers = customers;
+		this.occupancyPercent = occupancyPercent;
+	}
+
+	void generate() {
+		long start = System.nanoTime();
+
+		// Se vacían todas las tablas y se reinician las secuencias para que los ids sean reproducibles
+		jdbcTemplate.execute("TRUNCATE bookings, billboards, seats, rooms, customers, movies, outbox_events "
+				+ "RESTART IDENTITY CASCADE");
+
+		jdbcTemplate.update("INSERT INTO movies (name, genre, allowed_age, length_minutes) "
+				+ "SELECT 'Película ' || g, (" + GENRES + ")[1 + g % 13], (ARRAY[0, 7, 12, 16, 18])[1 + g % 5], 80 + g % 70 "
+				+ "FROM generate_series(1, ?) g", movies);
+
+		jdbcTemplate.update("INSERT INTO rooms (name, number) "
+				+ "SELECT 'Sala ' || g, g FROM generate_series(1, ?) g", rooms);
+
+		jdbcTemplate.update("INSERT INTO seats (number, row_number, room_id) "
+				+ "SELECT (s - 1) % " + SEATS_PER_ROW + " + 1, (s - 1) / " + SEATS_PER_ROW + " + 1, r "
+				+ "FROM generate_series(1, ?) r CROSS JOIN generate_series(1, ?) s "
+				+ "ORDER BY r, s", rooms, seatsPerRoom);
+
+		jdbcTemplate.update("INSERT INTO customers (document_number, name, lastname, age, phone_number, email) "
+				+ "SELECT lpad(g::text, 10, '0'), 'Cliente', 'Carga ' || g, 18 + g % 60, '555-' || lpad(g::text, 7, '0'), "
+				+ "'cliente' || g || '@example.com' "
+				+ "FROM generate_series(1, ?) g", customers);
+
+		// Funciones desde hoy, cada 3 horas a partir de las 12:00, con una película que rota por sala y día
+		jdbcTemplate.update("INSERT INTO billboards (date, start_time, end_time, movie_id, room_id) "
+				+ "SELECT CURRENT_DATE + d, TIME '12:00' + make_interval(mins => s * 180), "
+				+ "TIME '12:00' + make_interval(mins => s * 180 + m.length_minutes), m.id, r "
+				+ "FROM generate_series(0, ? - 1) d CROSS JOIN generate_series(1, ?) r CROSS JOIN generate_series(0, ? - 1) s "
+				+ "JOIN movies m ON m.id = 1 + (d * 31 + r * 7 + s) % ? "
+				+ "ORDER BY d, r, s", days, rooms, showsPerDay, movies);
+
+		// Ocupación pseudoaleatoria pero determinista: cada par función/butaca entra según un hash
+		int bookings = jdbcTemplate.update("INSERT INTO bookings (date, customer_id, seat_id, billboard_id) "
+				+ "SELECT b.date - b.id % 14, 1 + (b.id::bigint * 31 + s.id) % ?, s.id, b.id "
+				+ "FROM billboards b JOIN seats s ON s.room_id = b.room_id "
+				+ "WHERE (b.id::bigint * 7919 + s.id::bigint * 104729) % 100 < ?", customers, occupancyPercent);
+
+		jdbcTemplate.execute("ANALYZE");
+
+		log.info("Load data generated in {} ms: {} movies, {} rooms, {} seats, {} customers, {} billboards, {} bookings",
+				(System.nanoTime() - start) / 1_000_000, movies, rooms, rooms * seatsPerRoom, customers,
+				days * rooms * showsPerDay, bookings);
+	}
+}
@@ -0,0 +1,281 @@
+package com.cinereservas.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Prueba de carga reproducible: genera un cine sintético antes de que la aplicación termine de arrancar
+// (la instantánea y el estado de butacas se construyen ya con esos datos) y reproduce contra el servidor
+// embebido una mezcla de consultas de cartelera y butacas, reservas y cancelaciones.
+// Informa p50/p99 y rendimiento por endpoint. Solo se ejecuta con el perfil Maven loadtest.
+@Slf4j
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTests {
+
+	enum Endpoint {
+		BILLBOARDS_BY_DATE("GET /api/billboards/date/{date}"),
+		SEATS_BY_ROOM("GET /api/seats/room/{roomId}"),
+		CREATE_BOOKING("POST /api/bookings"),
+		CANCEL_BOOKING("PUT /api/bookings/{id}/cancel");
+
+		private final String label;
+
+		Endpoint(String label) {
+			this.label = label;
+		}
+	}
+
+	@TestConfiguration
+	static class LoadTestConfiguration {
+
+		// La autenticación no forma parte de lo que se mide: la API queda abierta solo en esta prueba
+		@Bean
+		@Order(Ordered.HIGHEST_PRECEDENCE)
+		SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity http) throws Exception {
+			return http.securityMatcher("/api/**")
+					.csrf(csrf -> csrf.disable())
+					.authorizeHttpRequests(authz -> authz.anyRequest().permitAll())
+					.build();
+		}
+
+		// Los runners se ejecutan después de las migraciones y antes de ApplicationReadyEvent
+		@Bean
+		ApplicationRunner loadDataGenerator(JdbcTemplate jdbcTemplate,
+											@Value("${loadtest.movies}") int movies,
+											@Value("${loadtest.rooms}") int rooms,
+											@Value("${loadtest.seats-per-room}") int seatsPerRoom,
+											@Value("${loadtest.days}") int days,
+											@Value("${loadtest.shows-per-day}") int showsPerDay,
+											@Value("${loadtest.customers}") int customers,
+											@Value("${loadtest.occupancy-percent}") int occupancyPercent) {
+			return args -> new LoadDataGenerator(jdbcTemplate, movies, rooms, seatsPerRoom, days, showsPerDay,
+					customers, occupancyPercent).generate();
+		}
+	}
+
+	// Resultado de un trabajador: latencias y códigos de estado por endpoint
+	private static class Recorder {
+
+		private final Map<Endpoint, List<Long>> latencies = new EnumMap<>(Endpoint.class);
+		private final Map<Endpoint, Map<Integer, Integer>> statuses = new EnumMap<>(Endpoint.class);
+
+		void record(Endpoint endpoint, int status, long nanos) {
+			latencies.computeIfAbsent(endpoint, key -> new ArrayList<>()).add(nanos);
+			statuses.computeIfAbsent(endpoint, key -> new TreeMap<>()).merge(status, 1, Integer::sum);
+		}
+
+		void addAll(Recorder other) {
+			other.latencies.forEach((endpoint, values) ->
+					latencies.computeIfAbsent(endpoint, key -> new ArrayList<>()).addAll(values));
+			other.statuses.forEach((endpoint, counts) -> counts.forEach((status, count) ->
+					statuses.computeIfAbsent(endpoint, key -> new TreeMap<>()).merge(status, count, Integer::sum)));
+		}
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${loadtest.concurrency}")
+	private int concurrency;
+
+	@Value("${loadtest.warmup-seconds}")
+	private int warmupSeconds;
+
+	@Value("${loadtest.duration-seconds}")
+	private int durationSeconds;
+
+	@Value("${loadtest.hot-days}")
+	private int hotDays;
+
+	@Value("${loadtest.customers}")
+	private int customers;
+
+	@Value("${loadtest.seed}")
+	private long seed;
+
+	// Un peso por endpoint, en el orden de Endpoint
+	@Value("${loadtest.mix}")
+	private int[] mix;
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private final Queue<Integer> createdBookings = new ConcurrentLinkedQueue<>();
+
+	private List<int[]> hotBillboards;
+	private Map<Integer, int[]> seatRangeByRoom;
+
+	@Test
+	void replayPremiereNightMix() throws Exception {
+		assertThat(mix).hasSize(Endpoint.values().length);
+
+		// Las reservas se concentran en las funciones de los próximos días, como en un estreno
+		hotBillboards = jdbcTemplate.query("SELECT id, room_id FROM billboards WHERE date < CURRENT_DATE + ? ORDER BY id",
+				(rs, rowNum) -> new int[]{rs.getInt("id"), rs.getInt("room_id")}, hotDays);
+		seatRangeByRoom = new HashMap<>();
+		jdbcTemplate.query("SELECT room_id, MIN(id) AS first_id, MAX(id) AS last_id FROM seats GROUP BY room_id",
+				rs -> {
+					seatRangeByRoom.put(rs.getInt("room_id"), new int[]{rs.getInt("first_id"), rs.getInt("last_id")});
+				});
+		assertThat(hotBillboards).as("billboards in the next %d days", hotDays).isNotEmpty();
+
+		long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+		long end = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		List<Future<Recorder>> results = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			Random random = new Random(seed + i);
+			results.add(workers.submit(() -> drive(random, measureStart, end)));
+		}
+
+		Recorder total = new Recorder();
+		try {
+			for (Future<Recorder> result : results) {
+				total.addAll(result.get());
+			}
+		} finally {
+			workers.shutdownNow();
+		}
+
+		report(total);
+
+		total.statuses.forEach((endpoint, counts) -> assertThat(counts.keySet())
+				.as("status codes for %s", endpoint.label)
+				.allMatch(status -> status < 500));
+	}
+
+	// Ciclo cerrado: cada trabajador envía la siguiente petición al recibir la respuesta anterior
+	private Recorder drive(Random random, long measureStart, long end) throws Exception {
+		Recorder recorder = new Recorder();
+		int totalWeight = Arrays.stream(mix).sum();
+
+		while (System.nanoTime() < end) {
+			Endpoint endpoint = pick(random.nextInt(totalWeight));
+			HttpRequest request = buildRequest(endpoint, random);
+			if (request == null) {
+				// Aún no hay reservas propias que cancelar
+				endpoint = Endpoint.CREATE_BOOKING;
+				request = buildRequest(endpoint, random);
+			}
+
+			long start = System.nanoTime();
+			HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+			long elapsed = System.nanoTime() - start;
+
+			if (endpoint == Endpoint.CREATE_BOOKING && response.statusCode() == 201) {
+				createdBookings.add(objectMapper.readTree(response.body()).get("id").asInt());
+			}
+			if (start >= measureStart) {
+				recorder.record(endpoint, response.statusCode(), elapsed);
+			}
+		}
+		return recorder;
+	}
+
+	private Endpoint pick(int value) {
+		for (Endpoint endpoint : Endpoint.values()) {
+			value -= mix[endpoint.ordinal()];
+			if (value < 0) {
+				return endpoint;
+			}
+		}
+		throw new IllegalStateException("Invalid mix");
+	}
+
+	private HttpRequest buildRequest(Endpoint endpoint, Random random) {
+		int[] billboard = hotBillboards.get(random.nextInt(hotBillboards.size()));
+		int[] seats = seatRangeByRoom.get(billboard[1]);
+
+		switch (endpoint) {
+			case BILLBOARDS_BY_DATE:
+				return get("/api/billboards/date/" + LocalDate.now().plusDays(random.nextInt(hotDays)));
+			case SEATS_BY_ROOM:
+				return get("/api/seats/room/" + billboard[1]);
+			case CREATE_BOOKING:
+				int seatId = seats[0] + random.nextInt(seats[1] - seats[0] + 1);
+				int customerId = 1 + random.nextInt(customers);
+				String body = "{\"customerId\":" + customerId + ",\"seatId\":" + seatId + ",\"billboardId\":" + billboard[0] + "}";
+				return HttpRequest.newBuilder(uri("/api/bookings"))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(body))
+						.build();
+			case CANCEL_BOOKING:
+				Integer bookingId = createdBookings.poll();
+				if (bookingId == null) {
+					return null;
+				}
+				return HttpRequest.newBuilder(uri("/api/bookings/" + bookingId + "/cancel"))
+						.PUT(HttpRequest.BodyPublishers.noBody())
+						.build();
+			default:
+				throw new IllegalArgumentException(endpoint.name());
+		}
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET().build();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private void report(Recorder total) {
+		StringBuilder report = new StringBuilder(String.format("%nLoad test: %d workers, %d s measured after %d s warm-up%n",
+				concurrency, durationSeconds, warmupSeconds));
+		report.append(String.format("%-34s %9s %10s %10s %10s  %s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "status"));
+
+		for (Endpoint endpoint : Endpoint.values()) {
+			List<Long> latencies = total.latencies.getOrDefault(endpoint, List.of());
+			if (latencies.isEmpty()) {
+				continue;
+			}
+			long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+			report.append(String.format("%-34s %9d %10.1f %10.2f %10.2f  %s%n", endpoint.label, sorted.length,
+					(double) sorted.length / durationSeconds, percentile(sorted, 50), percentile(sorted, 99),
+					total.statuses.get(endpoint)));
+		}
+		log.info("{}", report);
+	}
+
+	private static double percentile(long[] sorted, int percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1_000_000.0;
+	}
+}
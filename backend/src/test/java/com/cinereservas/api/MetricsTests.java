@@ -0,0 +1,96 @@
+package com.cinereservas.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Las métricas de endpoints, servicios, repositorios y del pool de conexiones se publican en formato
+// Prometheus sin autenticación, junto con los contadores de negocio de las reservas y de errores
+@SpringBootTest(properties = {
+		"cinereservas.outbox.relay-interval-ms=3600000",
+		"cinereservas.etag.refresh-interval-ms=3600000",
+		"cinereservas.sql.fail-on-budget-exceeded=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void prometheusEndpointExposesRequestServiceRepositoryAndPoolMetrics() throws Exception {
+		mockMvc.perform(get("/api/movies").with(user("user"))).andExpect(status().isOk());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(scrape)
+				.contains("http_server_requests_seconds_bucket{")
+				.containsPattern("http_server_requests_seconds_count\\{[^}]*uri=\"/api/movies\"")
+				.containsPattern("cinereservas_service_seconds_count\\{[^}]*class=\"MovieServiceImpl\"[^}]*method=\"findAll\"")
+				.containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*repository=\"MovieRepository\"")
+				.contains("hikaricp_connections_pending{", "hikaricp_connections_acquire_seconds_bucket{")
+				.contains("cinereservas_holds_active{")
+				.contains("application_ready_time_seconds{");
+	}
+
+	@Test
+	void bookingAnAlreadyBookedSeatCountsAConflict() throws Exception {
+		Map<String, Object> booked = jdbcTemplate.queryForMap(
+				"SELECT billboard_id, seat_id, customer_id FROM bookings WHERE status LIMIT 1");
+		double before = conflicts();
+		double errorsBefore = errors("409");
+
+		mockMvc.perform(post("/api/bookings").with(user("user"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"customerId\":" + booked.get("customer_id") + ",\"seatId\":" + booked.get("seat_id")
+								+ ",\"billboardId\":" + booked.get("billboard_id") + "}"))
+				.andExpect(status().isConflict())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+				.andExpect(jsonPath("$.status").value(409))
+				.andExpect(jsonPath("$.message").value("Seat already booked for this billboard"))
+				.andExpect(jsonPath("$.type").value("urn:cinereservas:problem:seat-already-booked"))
+				.andExpect(jsonPath("$.instance").value("/api/bookings"));
+
+		assertThat(conflicts()).isEqualTo(before + 1);
+		assertThat(errors("409")).isEqualTo(errorsBefore + 1);
+		// La reserva pasa por el estado de butacas en memoria, que no se mide
+		assertThat(meterRegistry.find("cinereservas.service").tag("class", "SeatStateServiceImpl").timer()).isNull();
+	}
+
+	private double errors(String status) {
+		Counter counter = meterRegistry.find("cinereservas.errors").tag("status", status).counter();
+		return counter == null ? 0 : counter.count();
+	}
+
+	private double conflicts() {
+		return meterRegistry.get("cinereservas.bookings.conflicts").counters().stream()
+				.mapToDouble(counter -> counter.count())
+				.sum();
+	}
+}
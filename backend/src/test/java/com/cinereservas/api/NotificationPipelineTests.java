@@ -0,0 +1,97 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.dto.CancellationNotificationDTO;
+import com.cinereservas.api.dto.CustomerContactDTO;
+import com.cinereservas.api.event.BillboardCancelledEvent;
+import com.cinereservas.api.service.NotificationSink;
+import com.cinereservas.api.service.impl.FileNotificationSink;
+import com.cinereservas.api.service.impl.NotificationServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Las notificaciones de cancelación se entregan en lotes, fuera de la transacción y con reintentos
+class NotificationPipelineTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void cancellationIsWrittenToFileSinkInBatches() throws Exception {
+		Path file = tempDir.resolve("notifications.ndjson");
+		ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+		NotificationServiceImpl service = new NotificationServiceImpl(
+				new FileNotificationSink(objectMapper, file), 1000, 50, 3, 10, 100);
+		service.start();
+
+		service.onBillboardCancelled(new BillboardCancelledEvent(7, 1, LocalDate.of(2026, 10, 18), 300, customers(300)));
+		service.stop();
+
+		List<String> lines = Files.readAllLines(file);
+		assertThat(lines).hasSize(300);
+		assertThat(lines.get(0)).contains("\"billboardId\":7", "\"contact\":\"customer0@cine.test\"");
+	}
+
+	@Test
+	void failedBatchesAreRetried() throws Exception {
+		AtomicInteger attempts = new AtomicInteger();
+		List<CancellationNotificationDTO> delivered = new CopyOnWriteArrayList<>();
+		NotificationSink flakySink = batch -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new IllegalStateException("sink unavailable");
+			}
+			delivered.addAll(batch);
+		};
+
+		NotificationServiceImpl service = new NotificationServiceImpl(flakySink, 100, 100, 5, 10, 100);
+
+		// Encolar antes de arrancar el despachador para que las cinco notificaciones vayan en un solo lote
+		service.onBillboardCancelled(new BillboardCancelledEvent(7, 1, LocalDate.of(2026, 10, 18), 5, customers(5)));
+		service.start();
+		service.stop();
+
+		assertThat(attempts.get()).isEqualTo(3);
+		assertThat(delivered).hasSize(5);
+	}
+
+	@Test
+	void fullQueueDropsInsteadOfBlockingIndefinitely() {
+		NotificationServiceImpl service = new NotificationServiceImpl(batch -> { }, 2, 10, 1, 10, 10);
+
+		service.onBillboardCancelled(new BillboardCancelledEvent(7, 1, LocalDate.of(2026, 10, 18), 5, customers(5)));
+
+		assertThat(service.pending()).isEqualTo(2);
+	}
+
+	@Test
+	void fullQueueWaitsOnceForTheWholeCancellation() {
+		NotificationServiceImpl service = new NotificationServiceImpl(batch -> { }, 2, 10, 1, 10, 200);
+
+		long start = System.nanoTime();
+		service.onBillboardCancelled(new BillboardCancelledEvent(7, 1, LocalDate.of(2026, 10, 18), 50, customers(50)));
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(service.pending()).isEqualTo(2);
+		assertThat(elapsedMs).isLessThan(2000);
+	}
+
+	private static List<CustomerContactDTO> customers(int count) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> new CustomerContactDTO(i, "Cliente", String.valueOf(i), "customer" + i + "@cine.test", null))
+				.collect(Collectors.toList());
+	}
+
+}
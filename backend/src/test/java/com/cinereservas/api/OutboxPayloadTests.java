@@ -0,0 +1,44 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.dto.CustomerContactDTO;
+import com.cinereservas.api.event.BillboardCancelledEvent;
+import com.cinereservas.api.model.OutboxEventEntity;
+import com.cinereservas.api.repository.OutboxEventRepository;
+import com.cinereservas.api.service.impl.OutboxServiceImpl;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// Lo que se publica en /api/events no debe incluir datos personales de los clientes
+class OutboxPayloadTests {
+
+	@Test
+	void billboardCancellationStoresOnlyCustomerIds() {
+		OutboxEventRepository repository = mock(OutboxEventRepository.class);
+		// Igual que el ObjectMapper de Spring Boot: fechas ISO
+		JsonMapper objectMapper = JsonMapper.builder()
+				.findAndAddModules()
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		OutboxServiceImpl service = new OutboxServiceImpl(repository, objectMapper, mock(PlatformTransactionManager.class), 500);
+
+		service.onBillboardCancelled(new BillboardCancelledEvent(7, 1, LocalDate.of(2026, 10, 18), 3, List.of(
+				new CustomerContactDTO(11, "Ana", "Pérez", "ana@example.com", "0991234567"),
+				new CustomerContactDTO(11, "Ana", "Pérez", "ana@example.com", "0991234567"),
+				new CustomerContactDTO(12, "Luis", "Mora", null, "0997654321"))));
+
+		ArgumentCaptor<OutboxEventEntity> saved = ArgumentCaptor.forClass(OutboxEventEntity.class);
+		verify(repository).save(saved.capture());
+		assertThat(saved.getValue().getPayload())
+				.isEqualTo("{\"billboardId\":7,\"roomId\":1,\"date\":\"2026-10-18\",\"cancelledBookings\":3,\"customerIds\":[11,12]}");
+	}
+}
@@ -0,0 +1,93 @@
+package com.cinereservas.api;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Las consultas frecuentes de los repositorios deben resolverse con su índice y no con un recorrido
+// secuencial. Se cargan carteleras y reservas de un año para que las estadísticas distingan los índices,
+// y se desactivan los recorridos secuenciales: si aun así aparece uno, no hay índice que sirva.
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// La prueba es transaccional: los datos, las estadísticas y el ajuste se revierten al terminar
+	@BeforeEach
+	void loadShowingsAndDisableSequentialScans() {
+		Integer lastBillboardId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM billboards", Integer.class);
+
+		jdbcTemplate.update("INSERT INTO billboards (date, start_time, end_time, movie_id, room_id, status) " +
+				"SELECT CURRENT_DATE - 180 + g % 365, TIME '10:00' + (g % 8) * INTERVAL '90 minutes', " +
+				"TIME '11:30' + (g % 8) * INTERVAL '90 minutes', m.id, r.id, g % 10 <> 0 " +
+				"FROM generate_series(1, 10000) g " +
+				"JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n, COUNT(*) OVER () AS c FROM movies) m ON m.n = g % m.c " +
+				"JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n, COUNT(*) OVER () AS c FROM rooms) r ON r.n = g % r.c");
+		jdbcTemplate.update("INSERT INTO bookings (date, customer_id, seat_id, billboard_id, status) " +
+				"SELECT b.date - 3, c.id, s.id, b.id, b.status " +
+				"FROM billboards b " +
+				"JOIN LATERAL (SELECT id FROM seats WHERE room_id = b.room_id ORDER BY id LIMIT 3) s ON true " +
+				"JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n, COUNT(*) OVER () AS c FROM customers) c " +
+				"ON c.n = (b.id + s.id) % c.c " +
+				"WHERE b.id > ?", lastBillboardId);
+		jdbcTemplate.execute("ANALYZE billboards");
+		jdbcTemplate.execute("ANALYZE bookings");
+
+		jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+	}
+
+	@Test
+	void hotQueriesUseTheirIndex() {
+		// Consulta -> índices que la resuelven (los de claves foráneas también sirven para filtrar por ellas)
+		Map<String, List<String>> expectedIndexes = new LinkedHashMap<>();
+		expectedIndexes.put("SELECT * FROM billboards WHERE date = CURRENT_DATE AND status = true",
+				List.of("idx_billboards_date_active"));
+		expectedIndexes.put("SELECT * FROM billboards WHERE date BETWEEN CURRENT_DATE AND CURRENT_DATE + 7 AND status = true",
+				List.of("idx_billboards_date_active"));
+		expectedIndexes.put("SELECT * FROM billboards WHERE room_id = 1 AND date = CURRENT_DATE AND status = true",
+				List.of("idx_billboards_room_date_active"));
+		expectedIndexes.put("SELECT * FROM billboards WHERE movie_id = 1 AND date BETWEEN CURRENT_DATE AND CURRENT_DATE + 7 AND status = true",
+				List.of("idx_billboards_movie_date_active"));
+		expectedIndexes.put("SELECT * FROM bookings WHERE billboard_id = 1 AND status = true",
+				List.of("ux_bookings_active_seat", "idx_bookings_billboard_id"));
+		expectedIndexes.put("SELECT * FROM bookings WHERE seat_id = 1 AND billboard_id = 1 AND status = true",
+				List.of("ux_bookings_active_seat"));
+		expectedIndexes.put("SELECT * FROM bookings WHERE customer_id = 1 AND status = true",
+				List.of("idx_bookings_customer_active", "idx_bookings_customer_id"));
+		expectedIndexes.put("SELECT * FROM bookings WHERE date BETWEEN CURRENT_DATE - 7 AND CURRENT_DATE AND status = true",
+				List.of("idx_bookings_date_active"));
+		expectedIndexes.put("SELECT * FROM seats WHERE room_id = 1 AND status = true",
+				List.of("idx_seats_room_active", "idx_seats_room_id"));
+		expectedIndexes.put("SELECT * FROM seats WHERE room_id = 1 AND number = 1 AND row_number = 1 AND status = true",
+				List.of("idx_seats_room_active", "idx_seats_room_id"));
+		expectedIndexes.put("SELECT * FROM movies WHERE genre = 'ACTION' AND status = true",
+				List.of("idx_movies_genre_active"));
+		expectedIndexes.put("SELECT * FROM customers WHERE email = 'juan@example.com' AND status = true",
+				List.of("idx_customers_email_active"));
+		expectedIndexes.put("SELECT * FROM outbox_events WHERE position IS NULL ORDER BY id LIMIT 500",
+				List.of("idx_outbox_events_unpositioned"));
+		expectedIndexes.put("SELECT * FROM outbox_events WHERE position > 10 ORDER BY position LIMIT 100",
+				List.of("idx_outbox_events_position"));
+
+		SoftAssertions softly = new SoftAssertions();
+		expectedIndexes.forEach((sql, indexes) -> {
+			String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+
+			softly.assertThat(plan).as("Plan for %s", sql).doesNotContain("Seq Scan");
+			softly.assertThat(indexes).as("Plan for %s uses one of %s:%n%s", sql, indexes, plan)
+					.anyMatch(plan::contains);
+		});
+		softly.assertAll();
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.service.SeatChangeStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Los suscriptores reciben los cambios confirmados en cualquier instancia: aquí el evento del outbox se escribe
+// directamente, como lo haría otra instancia, y se revierte al final
+@SpringBootTest(properties = {
+		"cinereservas.outbox.relay-interval-ms=3600000",
+		"cinereservas.etag.refresh-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class SeatChangeStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private SeatChangeStreamService seatChangeStreamService;
+
+	@Test
+	void bookingsFromAnotherInstanceReachTheSubscribers() throws Exception {
+		Integer billboardId = jdbcTemplate.queryForObject(
+				"SELECT id FROM billboards WHERE status ORDER BY id LIMIT 1", Integer.class);
+		MvcResult stream = mockMvc.perform(get("/api/billboards/{id}/seats/stream", billboardId)).andReturn();
+		seatChangeStreamService.pollOutbox();
+
+		jdbcTemplate.update("""
+				INSERT INTO outbox_events (event_type, aggregate_type, aggregate_id, payload, created_at, position)
+				SELECT 'BookingCreated', 'Booking', 0, ?, now(), COALESCE(MAX(position), 0) + 1 FROM outbox_events""",
+				"{\"billboardId\":" + billboardId + ",\"seatId\":7}");
+		seatChangeStreamService.pollOutbox();
+
+		String content = "";
+		for (int attempt = 0; attempt < 50 && !content.contains("seat-taken"); attempt++) {
+			Thread.sleep(20);
+			content = stream.getResponse().getContentAsString();
+		}
+		assertThat(content).contains("event:seat-taken").contains("\"seatId\":7");
+	}
+}
@@ -0,0 +1,95 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.dto.BookingDTO;
+import com.cinereservas.api.dto.SeatHoldDTO;
+import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.service.BookingService;
+import com.cinereservas.api.service.SeatHoldService;
+import com.cinereservas.api.service.SeatStateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Las butacas retenidas no tienen reserva en la tabla: la verificación periódica del estado en memoria
+// debe tratarlas como ocupadas, y al terminar una retención solo se liberan las butacas que seguía reteniendo.
+// Cada prueba crea su función y su cliente, y todo se revierte al terminar
+@SpringBootTest
+@Transactional
+class SeatHoldTests {
+
+	@Autowired
+	private SeatHoldService seatHoldService;
+
+	@Autowired
+	private SeatStateService seatStateService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void heldSeatsSurviveTheConsistencyCheck() {
+		Integer billboardId = createBillboard();
+		List<Integer> seatIds = seats(billboardId, 1);
+		SeatHoldDTO hold = seatHoldService.hold(billboardId, new SeatHoldDTO(null, null, seatIds, null));
+
+		seatStateService.verifyConsistency();
+
+		assertThat(seatStateService.isOccupied(billboardId, seatIds.get(0))).isTrue();
+		assertThatThrownBy(() -> seatStateService.claim(billboardId, seatIds.get(0)))
+				.isSameAs(CineReservasException.SEAT_ALREADY_BOOKED);
+
+		seatHoldService.release(billboardId, hold.getToken());
+		assertThat(seatStateService.isOccupied(billboardId, seatIds.get(0))).isFalse();
+	}
+
+	@Test
+	void releasingAHoldKeepsTheSeatsAlreadyBookedWithIt() {
+		Integer billboardId = createBillboard();
+		List<Integer> seatIds = seats(billboardId, 2);
+		SeatHoldDTO hold = seatHoldService.hold(billboardId, new SeatHoldDTO(null, null, seatIds, null));
+
+		BookingDTO booking = new BookingDTO();
+		booking.setCustomerId(createCustomer());
+		booking.setBillboardId(billboardId);
+		booking.setSeatId(seatIds.get(0));
+		booking.setHoldToken(hold.getToken());
+		bookingService.save(booking);
+
+		seatHoldService.release(billboardId, hold.getToken());
+
+		assertThat(seatStateService.isOccupied(billboardId, seatIds.get(0))).isTrue();
+		assertThat(seatStateService.isOccupied(billboardId, seatIds.get(1))).isFalse();
+	}
+
+	private Integer createBillboard() {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO billboards (date, start_time, end_time, movie_id, room_id, status)
+				SELECT CURRENT_DATE + 30, TIME '10:00', TIME '12:00', (SELECT MIN(id) FROM movies), MIN(room_id), true
+				FROM seats WHERE status
+				RETURNING id""", Integer.class);
+	}
+
+	private Integer createCustomer() {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO customers (document_number, name, lastname, age, email)
+				VALUES ('HOLD-TEST', 'Prueba', 'Retencion', 30, 'retencion@example.com')
+				RETURNING id""", Integer.class);
+	}
+
+	private List<Integer> seats(Integer billboardId, int count) {
+		return jdbcTemplate.queryForList("""
+				SELECT s.id FROM seats s JOIN billboards b ON s.room_id = b.room_id
+				WHERE b.id = ? AND s.status
+				ORDER BY s.id LIMIT ?""", Integer.class, billboardId, count);
+	}
+}
@@ -0,0 +1,61 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.exception.CineReservasException;
+import com.cinereservas.api.service.SeatStateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Un bit ocupado en el estado en memoria no es definitivo: la reserva pudo cancelarse desde otra instancia o
+// directamente en la base de datos. Todo se revierte al terminar cada prueba
+@SpringBootTest
+@Transactional
+class SeatStateTests {
+
+	@Autowired
+	private SeatStateService seatStateService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void seatCancelledElsewhereCanBeBookedAgain() {
+		Integer billboardId = createBillboard();
+		Integer seatId = firstSeat(billboardId);
+		Integer bookingId = createBooking(billboardId, seatId);
+		seatStateService.verifyConsistency();
+		assertThatThrownBy(() -> seatStateService.claim(billboardId, seatId))
+				.isSameAs(CineReservasException.SEAT_ALREADY_BOOKED);
+
+		// Cancelación hecha por otra instancia: esta no recibe ningún evento
+		jdbcTemplate.update("UPDATE bookings SET status = false WHERE id = ?", bookingId);
+
+		assertThatCode(() -> seatStateService.claim(billboardId, seatId)).doesNotThrowAnyException();
+	}
+
+	private Integer createBillboard() {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO billboards (date, start_time, end_time, movie_id, room_id, status)
+				SELECT CURRENT_DATE + 30, TIME '10:00', TIME '12:00', (SELECT MIN(id) FROM movies), MIN(room_id), true
+				FROM seats WHERE status
+				RETURNING id""", Integer.class);
+	}
+
+	private Integer firstSeat(Integer billboardId) {
+		return jdbcTemplate.queryForObject("""
+				SELECT MIN(s.id) FROM seats s JOIN billboards b ON s.room_id = b.room_id
+				WHERE b.id = ? AND s.status""", Integer.class, billboardId);
+	}
+
+	private Integer createBooking(Integer billboardId, Integer seatId) {
+		return jdbcTemplate.queryForObject("""
+				INSERT INTO bookings (date, customer_id, seat_id, billboard_id, status)
+				VALUES (CURRENT_DATE, (SELECT MIN(id) FROM customers), ?, ?, true)
+				RETURNING id""", Integer.class, seatId, billboardId);
+	}
+}
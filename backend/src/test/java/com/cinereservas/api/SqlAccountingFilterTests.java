@@ -0,0 +1,108 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.config.SqlAccountingFilter;
+import com.cinereservas.api.config.SqlAccountingProperties;
+import com.cinereservas.api.config.SqlRequestStats;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Los totales de SQL de la petición se publican en Server-Timing y se comparan con el presupuesto del endpoint
+class SqlAccountingFilterTests {
+
+	private static final String PATTERN = "/api/billboards/date/{date}";
+
+	@Test
+	void serverTimingIsAddedBeforeTheBodyIsWritten() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter(false).doFilter(request(), response, handler(2, 5, true));
+
+		assertThat(response.getHeader(SqlAccountingFilter.SERVER_TIMING_HEADER))
+				.startsWith("db;dur=")
+				.endsWith(";desc=\"2 statements, 5 rows\"");
+		assertThat(response.getContentAsString()).isEqualTo("[]");
+	}
+
+	@Test
+	void serverTimingIsAddedToResponsesWithoutBody() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter(false).doFilter(request(), response, handler(1, 0, false));
+
+		assertThat(response.getHeader(SqlAccountingFilter.SERVER_TIMING_HEADER)).endsWith("\"1 statements, 0 rows\"");
+	}
+
+	@Test
+	void exceedingTheBudgetFailsTheRequestWhenConfigured() {
+		assertThatThrownBy(() -> filter(true).doFilter(request(), new MockHttpServletResponse(), handler(4, 0, true)))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("GET " + PATTERN)
+				.hasMessageContaining("4 statements (max 3)");
+	}
+
+	@Test
+	void exceedingTheBudgetOnlyWarnsByDefault() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter(false).doFilter(request(), response, handler(4, 0, true));
+
+		assertThat(response.getHeader(SqlAccountingFilter.SERVER_TIMING_HEADER)).contains("4 statements");
+		assertThat(SqlRequestStats.current()).isNull();
+	}
+
+	@Test
+	void rowsAreLeftOutWhenTheyAreNotCounted() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter(false, false).doFilter(request(), response, handler(2, 0, true));
+
+		assertThat(response.getHeader(SqlAccountingFilter.SERVER_TIMING_HEADER)).endsWith(";desc=\"2 statements\"");
+	}
+
+	private static SqlAccountingFilter filter(boolean failOnBudgetExceeded) {
+		return filter(failOnBudgetExceeded, true);
+	}
+
+	private static SqlAccountingFilter filter(boolean failOnBudgetExceeded, boolean countRows) {
+		SqlAccountingProperties.Budget budget = new SqlAccountingProperties.Budget();
+		budget.setEndpoint("GET " + PATTERN);
+		budget.setMaxStatements(3);
+
+		SqlAccountingProperties properties = new SqlAccountingProperties();
+		properties.setFailOnBudgetExceeded(failOnBudgetExceeded);
+		properties.setCountRows(countRows);
+		properties.setBudgets(List.of(budget));
+		return new SqlAccountingFilter(properties);
+	}
+
+	private static MockHttpServletRequest request() {
+		return new MockHttpServletRequest("GET", "/api/billboards/date/2026-10-18");
+	}
+
+	// Simula el trabajo del DispatcherServlet: resuelve el patrón, ejecuta sentencias y escribe la respuesta
+	private static FilterChain handler(int statements, int rows, boolean writeBody) {
+		return (request, response) -> {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+			SqlRequestStats stats = SqlRequestStats.current();
+			for (int i = 0; i < statements; i++) {
+				stats.statementStarted();
+				stats.statementFinished();
+			}
+			for (int i = 0; i < rows; i++) {
+				stats.rowFetched();
+			}
+			if (writeBody) {
+				response.getWriter().write("[]");
+				response.flushBuffer();
+			}
+		};
+	}
+}
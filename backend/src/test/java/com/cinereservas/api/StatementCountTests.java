@@ -0,0 +1,116 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.config.SqlAccountingFilter;
+import com.cinereservas.api.service.BillboardSnapshotService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cada endpoint de lectura debe resolverse con un número fijo de sentencias SQL, sin N+1.
+// El relay del outbox, la revisión de ETags y la lectura del feed para los cambios en vivo se aplazan para que
+// sus consultas no se cuenten, y superar el presupuesto de SQL de un endpoint (cinereservas.sql.budgets) hace
+// fallar la petición. Las filas se cuentan como en dev.
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"cinereservas.outbox.relay-interval-ms=3600000",
+		"cinereservas.etag.refresh-interval-ms=3600000",
+		"cinereservas.seat-stream.poll-interval-ms=3600000",
+		"cinereservas.sql.fail-on-budget-exceeded=true",
+		"cinereservas.sql.count-rows=true"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+class StatementCountTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private BillboardSnapshotService billboardSnapshotService;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void resetStatistics() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			"/api/billboards, 1",
+			"/api/billboards/1, 1",
+			"/api/billboards?limit=20, 1",
+			"/api/billboards/1/seats, 1",
+			"/api/seats, 1",
+			"/api/seats/room/1, 2",
+			"/api/bookings, 1",
+			"/api/bookings/1, 1",
+			"/api/bookings/customer/1, 2",
+			"/api/movies, 1",
+			"/api/rooms, 1"
+	})
+	void readEndpointsUseBoundedStatements(String url, long expectedStatements) throws Exception {
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+
+		assertThat(statistics.getPrepareStatementCount())
+				.as("SQL statements for GET %s", url)
+				.isEqualTo(expectedStatements);
+	}
+
+	@Test
+	void billboardsByDateAreServedFromSnapshot() throws Exception {
+		LocalDate today = LocalDate.now();
+		// La instantánea se reconstruye en segundo plano: aquí se fuerza para no depender de ese hilo
+		billboardSnapshotService.rebuild();
+		statistics.clear();
+
+		mockMvc.perform(get("/api/billboards/date/" + today)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/billboards/dateRange")
+						.param("startDate", today.toString())
+						.param("endDate", today.plusDays(2).toString()))
+				.andExpect(status().isOk());
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void serverTimingHeaderReportsTheRequestStatements() throws Exception {
+		mockMvc.perform(get("/api/bookings/customer/1"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(SqlAccountingFilter.SERVER_TIMING_HEADER,
+						containsString("desc=\"" + statistics.getPrepareStatementCount() + " statements,")));
+	}
+
+	// La cancelación se revierte al terminar la prueba
+	@Test
+	@Transactional
+	void billboardCancellationUsesSetBasedUpdates() throws Exception {
+		mockMvc.perform(put("/api/billboards/16/cancel")).andExpect(status().isNoContent());
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+}
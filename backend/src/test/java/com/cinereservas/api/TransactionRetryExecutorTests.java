@@ -0,0 +1,60 @@
+package com.cinereservas.api;
+
+import com.cinereservas.api.service.impl.TransactionRetryExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+// Solo los fallos de concurrencia se reintentan, y un número acotado de veces
+class TransactionRetryExecutorTests {
+
+	private final TransactionRetryExecutor executor =
+			new TransactionRetryExecutor(mock(PlatformTransactionManager.class), 3, 1);
+
+	@Test
+	void optimisticLockFailuresAreRetried() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = executor.execute(() -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new ObjectOptimisticLockingFailureException("BookingEntity", 1);
+			}
+			return "ok";
+		});
+
+		assertThat(result).isEqualTo("ok");
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	void retriesAreBounded() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> executor.run(() -> {
+			attempts.incrementAndGet();
+			throw new ObjectOptimisticLockingFailureException("BookingEntity", 1);
+		})).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	void constraintViolationsAreNotRetried() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> executor.run(() -> {
+			attempts.incrementAndGet();
+			throw new DataIntegrityViolationException("ux_bookings_active_seat");
+		})).isInstanceOf(DataIntegrityViolationException.class);
+
+		assertThat(attempts.get()).isEqualTo(1);
+	}
+
+}